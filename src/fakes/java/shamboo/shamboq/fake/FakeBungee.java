@@ -0,0 +1,146 @@
+package shamboo.shamboq.fake;
+
+import com.google.common.io.ByteArrayDataInput;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import org.bukkit.plugin.messaging.PluginMessageListenerRegistration;
+
+import java.util.function.Consumer;
+
+/**
+ * Stand-in for the BungeeCord/Velocity proxy behind the lobby.
+ * Answers the Connect and PlayerCount subchannels of the BungeeCord channel after a short delay:
+ * a connect either transfers the player (they quit the lobby), fails with ConnectFailed or gets no answer
+ */
+public final class FakeBungee {
+    private static final String CHANNEL = "BungeeCord";
+
+    /**
+     * Outcome of a Connect request
+     */
+    public enum ConnectResult {
+        // Player leaves the lobby and counts towards the backend
+        TRANSFER,
+        // Proxy answers ConnectFailed
+        FAIL,
+        // No answer, the plugin's connection timeout kicks in
+        NO_ANSWER
+    }
+
+    private final FakeServer server;
+    private ConnectResult connectResult = ConnectResult.TRANSFER;
+    private int responseDelayTicks = 2;
+    private int backendPlayers;
+    private Consumer<FakePlayer> connectListener = player -> { };
+
+    // Requests received
+    private int connectRequests;
+    private int playerCountRequests;
+
+    FakeBungee(FakeServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Handles a plugin message sent by a player connection in the lobby
+     */
+    void receive(FakePlayer player, String channel, byte[] message) {
+        if (!channel.equals(CHANNEL) && !channel.equals("bungeecord:main")) {
+            return;
+        }
+
+        ByteArrayDataInput in = ByteStreams.newDataInput(message);
+        String subChannel = in.readUTF();
+        if (subChannel.equals("Connect")) {
+            connectRequests++;
+            connectListener.accept(player);
+            connect(player);
+        } else if (subChannel.equals("PlayerCount")) {
+            playerCountRequests++;
+            String target = in.readUTF();
+            later(() -> {
+                ByteArrayDataOutput out = ByteStreams.newDataOutput();
+                out.writeUTF("PlayerCount");
+                out.writeUTF(target);
+                out.writeInt(backendPlayers);
+                send(player, out);
+            });
+        }
+    }
+
+    private void connect(FakePlayer player) {
+        switch (connectResult) {
+            case TRANSFER:
+                later(() -> {
+                    if (player.isOnline()) {
+                        server.quit(player);
+                        backendPlayers++;
+                    }
+                });
+                break;
+            case FAIL:
+                later(() -> {
+                    ByteArrayDataOutput out = ByteStreams.newDataOutput();
+                    out.writeUTF("ConnectFailed");
+                    send(player, out);
+                });
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void send(FakePlayer player, ByteArrayDataOutput out) {
+        // The proxy answers through a player connection, a player who left takes the answer with them
+        if (!player.isOnline()) {
+            return;
+        }
+        byte[] message = out.toByteArray();
+        for (PluginMessageListenerRegistration registration : server.getMessenger().getIncomingChannelRegistrations(CHANNEL)) {
+            // Delivered under the legacy channel name the plugin checks for
+            registration.getListener().onPluginMessageReceived(CHANNEL, player.asPlayer(), message);
+        }
+    }
+
+    private void later(Runnable answer) {
+        server.getFakeScheduler().runTaskLater(null, answer, responseDelayTicks);
+    }
+
+    public ConnectResult getConnectResult() {
+        return connectResult;
+    }
+
+    public void setConnectResult(ConnectResult connectResult) {
+        this.connectResult = connectResult;
+    }
+
+    public void setResponseDelayTicks(int responseDelayTicks) {
+        this.responseDelayTicks = responseDelayTicks;
+    }
+
+    /**
+     * Number of players on the backend server, reported to PlayerCount requests
+     */
+    public int getBackendPlayers() {
+        return backendPlayers;
+    }
+
+    public void setBackendPlayers(int backendPlayers) {
+        this.backendPlayers = backendPlayers;
+    }
+
+    /**
+     * Called for every Connect request, before it is answered
+     */
+    public void setConnectListener(Consumer<FakePlayer> connectListener) {
+        this.connectListener = connectListener;
+    }
+
+    public int getConnectRequests() {
+        return connectRequests;
+    }
+
+    public int getPlayerCountRequests() {
+        return playerCountRequests;
+    }
+}
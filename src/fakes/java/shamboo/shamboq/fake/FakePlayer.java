@@ -0,0 +1,187 @@
+package shamboo.shamboq.fake;
+
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Player stand-in. Keeps the state the plugin reads back (location, game mode, view distance, hidden players)
+ * and counts what is sent to the client instead of rendering it. Plugin messages go to the server's FakeBungee
+ */
+public final class FakePlayer {
+    private final FakeServer server;
+    private final UUID uniqueId;
+    private final String name;
+    private final Set<String> permissions = new HashSet<>();
+    private final Set<UUID> hiddenPlayers = new HashSet<>();
+    private final Player proxy;
+    private final Player.Spigot spigot;
+
+    private Location location;
+    private GameMode gameMode = GameMode.SURVIVAL;
+    private int viewDistance = 10;
+    private boolean online = true;
+
+    // Client-bound traffic
+    private int messages;
+    private int titles;
+    private int actionBars;
+    private int sounds;
+    private int pluginMessages;
+
+    FakePlayer(FakeServer server, UUID uniqueId, String name, Location location) {
+        this.server = server;
+        this.uniqueId = uniqueId;
+        this.name = name;
+        this.location = location;
+        this.proxy = FakeProxy.of(Player.class, this);
+        this.spigot = new Player.Spigot() {
+            @Override
+            public void sendMessage(ChatMessageType position, BaseComponent... components) {
+                if (position == ChatMessageType.ACTION_BAR) {
+                    actionBars++;
+                } else {
+                    messages++;
+                }
+            }
+        };
+    }
+
+    /**
+     * The Player seen by the plugin
+     */
+    public Player asPlayer() {
+        return proxy;
+    }
+
+    public void addPermission(String permission) {
+        permissions.add(permission);
+    }
+
+    void setOnline(boolean online) {
+        this.online = online;
+    }
+
+    public int getMessages() {
+        return messages;
+    }
+
+    public int getTitles() {
+        return titles;
+    }
+
+    public int getActionBars() {
+        return actionBars;
+    }
+
+    public int getSounds() {
+        return sounds;
+    }
+
+    public int getPluginMessages() {
+        return pluginMessages;
+    }
+
+    // Player methods used by the plugin
+
+    public UUID getUniqueId() {
+        return uniqueId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDisplayName() {
+        return name;
+    }
+
+    public boolean isOnline() {
+        return online;
+    }
+
+    public boolean hasPermission(String permission) {
+        return permissions.contains(permission);
+    }
+
+    public GameMode getGameMode() {
+        return gameMode;
+    }
+
+    public void setGameMode(GameMode gameMode) {
+        this.gameMode = gameMode;
+    }
+
+    public Location getLocation() {
+        return location.clone();
+    }
+
+    public World getWorld() {
+        return location.getWorld();
+    }
+
+    public boolean teleport(Location location) {
+        this.location = location.clone();
+        return true;
+    }
+
+    public boolean teleport(Location location, PlayerTeleportEvent.TeleportCause cause) {
+        return teleport(location);
+    }
+
+    public int getViewDistance() {
+        return viewDistance;
+    }
+
+    public void setViewDistance(int viewDistance) {
+        this.viewDistance = viewDistance;
+    }
+
+    public void sendMessage(String message) {
+        messages++;
+    }
+
+    public void sendTitle(String title, String subtitle, int fadeIn, int stay, int fadeOut) {
+        titles++;
+    }
+
+    public void playSound(Location location, Sound sound, float volume, float pitch) {
+        sounds++;
+    }
+
+    public void hidePlayer(Plugin plugin, Player player) {
+        hiddenPlayers.add(player.getUniqueId());
+    }
+
+    public void showPlayer(Plugin plugin, Player player) {
+        hiddenPlayers.remove(player.getUniqueId());
+    }
+
+    public boolean canSee(Player player) {
+        return !hiddenPlayers.contains(player.getUniqueId());
+    }
+
+    public void sendPluginMessage(Plugin source, String channel, byte[] message) {
+        pluginMessages++;
+        server.getBungee().receive(this, channel, message);
+    }
+
+    public Player.Spigot spigot() {
+        return spigot;
+    }
+
+    @Override
+    public String toString() {
+        return "FakePlayer{" + name + "}";
+    }
+}
@@ -0,0 +1,126 @@
+package shamboo.shamboq.fake;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implements a Bukkit interface by forwarding every call to a public method of the same name and
+ * parameter types on a plain delegate object. Methods the delegate does not have return an empty value
+ * (0, false, null or an empty collection), so stand-ins only implement what the plugin actually calls
+ */
+public final class FakeProxy implements InvocationHandler {
+    // Delegate method per interface method and delegate class, empty if the delegate does not implement it
+    private static final ClassValue<Map<Method, Optional<Method>>> TARGETS = new ClassValue<>() {
+        @Override
+        protected Map<Method, Optional<Method>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Object delegate;
+
+    private FakeProxy(Object delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Creates a proxy of the given interface backed by the delegate
+     * @param type Interface to implement
+     * @param delegate Object with the implemented methods
+     */
+    public static <T> T of(Class<T> type, Object delegate, Class<?>... extraInterfaces) {
+        Class<?>[] interfaces = new Class<?>[extraInterfaces.length + 1];
+        interfaces[0] = type;
+        System.arraycopy(extraInterfaces, 0, interfaces, 1, extraInterfaces.length);
+        return type.cast(Proxy.newProxyInstance(FakeProxy.class.getClassLoader(), interfaces, new FakeProxy(delegate)));
+    }
+
+    /**
+     * Delegate behind a proxy created by {@link #of}
+     */
+    public static <T> T delegateOf(Object proxy, Class<T> type) {
+        return type.cast(((FakeProxy) Proxy.getInvocationHandler(proxy)).delegate);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return delegate.toString();
+            }
+        }
+
+        Optional<Method> target = TARGETS.get(delegate.getClass()).computeIfAbsent(method, this::findTarget);
+        if (target.isEmpty()) {
+            return emptyValue(method.getReturnType());
+        }
+
+        try {
+            return target.get().invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Optional<Method> findTarget(Method method) {
+        try {
+            return Optional.of(delegate.getClass().getMethod(method.getName(), method.getParameterTypes()));
+        } catch (NoSuchMethodException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Object emptyValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        if (type == float.class) {
+            return 0.0f;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == List.class || type == Collection.class) {
+            return Collections.emptyList();
+        }
+        if (type == Set.class) {
+            return Collections.emptySet();
+        }
+        if (type == Map.class) {
+            return Collections.emptyMap();
+        }
+        if (type == Optional.class) {
+            return Optional.empty();
+        }
+        return null;
+    }
+}
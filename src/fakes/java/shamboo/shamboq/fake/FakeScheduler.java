@@ -0,0 +1,219 @@
+package shamboo.shamboq.fake;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Scheduler stand-in driven by explicit {@link #tick()} calls instead of a server loop.
+ * Sync tasks run on the thread calling tick, async tasks are handed to a single background thread when due
+ */
+public final class FakeScheduler {
+    private final PriorityQueue<FakeTask> pending = new PriorityQueue<>(
+            Comparator.comparingLong(FakeTask::getNextRun).thenComparingInt(FakeTask::getTaskId));
+    private final ExecutorService asyncExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "FakeScheduler-Async");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private int nextId = 1;
+    private long currentTick;
+
+    /**
+     * Runs every task due in the next tick
+     * @return Number of tasks run
+     */
+    public int tick() {
+        currentTick++;
+        int ran = 0;
+        List<FakeTask> repeating = new ArrayList<>();
+        while (!pending.isEmpty() && pending.peek().getNextRun() <= currentTick) {
+            FakeTask task = pending.poll();
+            if (task.isCancelled()) {
+                continue;
+            }
+
+            if (task.isSync()) {
+                task.getRunnable().run();
+            } else {
+                asyncExecutor.execute(task.getRunnable());
+            }
+            ran++;
+
+            if (task.getPeriod() > 0 && !task.isCancelled()) {
+                task.setNextRun(currentTick + task.getPeriod());
+                repeating.add(task);
+            } else {
+                task.cancel();
+            }
+        }
+        pending.addAll(repeating);
+        return ran;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Number of scheduled tasks that were not cancelled
+     */
+    public int getPendingTasks() {
+        int count = 0;
+        for (FakeTask task : pending) {
+            if (!task.isCancelled()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Drops all tasks and restarts the tick counter
+     */
+    public void reset() {
+        pending.forEach(FakeTask::cancel);
+        pending.clear();
+        currentTick = 0;
+    }
+
+    private BukkitTask schedule(Plugin plugin, Runnable runnable, long delay, long period, boolean sync) {
+        // Same rules as the server scheduler: a period of 0 repeats every tick, a negative one runs once
+        long repeat = period == 0 ? 1 : Math.max(period, -1);
+        FakeTask task = new FakeTask(nextId++, plugin, runnable, sync, repeat);
+        task.setNextRun(currentTick + Math.max(delay, 1));
+        pending.add(task);
+        return task;
+    }
+
+    // BukkitScheduler methods used by the plugin and BukkitRunnable
+
+    public BukkitTask runTask(Plugin plugin, Runnable task) {
+        return schedule(plugin, task, 0, -1, true);
+    }
+
+    public BukkitTask runTaskLater(Plugin plugin, Runnable task, long delay) {
+        return schedule(plugin, task, delay, -1, true);
+    }
+
+    public BukkitTask runTaskTimer(Plugin plugin, Runnable task, long delay, long period) {
+        return schedule(plugin, task, delay, period, true);
+    }
+
+    public BukkitTask runTaskAsynchronously(Plugin plugin, Runnable task) {
+        return schedule(plugin, task, 0, -1, false);
+    }
+
+    public BukkitTask runTaskLaterAsynchronously(Plugin plugin, Runnable task, long delay) {
+        return schedule(plugin, task, delay, -1, false);
+    }
+
+    public BukkitTask runTaskTimerAsynchronously(Plugin plugin, Runnable task, long delay, long period) {
+        return schedule(plugin, task, delay, period, false);
+    }
+
+    public int scheduleSyncDelayedTask(Plugin plugin, Runnable task, long delay) {
+        return runTaskLater(plugin, task, delay).getTaskId();
+    }
+
+    public int scheduleSyncDelayedTask(Plugin plugin, Runnable task) {
+        return runTask(plugin, task).getTaskId();
+    }
+
+    public int scheduleSyncRepeatingTask(Plugin plugin, Runnable task, long delay, long period) {
+        return runTaskTimer(plugin, task, delay, period).getTaskId();
+    }
+
+    public void cancelTask(int taskId) {
+        for (FakeTask task : pending) {
+            if (task.getTaskId() == taskId) {
+                task.cancel();
+            }
+        }
+    }
+
+    public void cancelTasks(Plugin plugin) {
+        for (FakeTask task : pending) {
+            if (task.getOwner() == plugin) {
+                task.cancel();
+            }
+        }
+    }
+
+    public boolean isQueued(int taskId) {
+        for (FakeTask task : pending) {
+            if (task.getTaskId() == taskId && !task.isCancelled()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Task scheduled on the fake scheduler
+     */
+    public static final class FakeTask implements BukkitTask {
+        private final int taskId;
+        private final Plugin owner;
+        private final Runnable runnable;
+        private final boolean sync;
+        private final long period;
+        private volatile boolean cancelled;
+        private long nextRun;
+
+        private FakeTask(int taskId, Plugin owner, Runnable runnable, boolean sync, long period) {
+            this.taskId = taskId;
+            this.owner = owner;
+            this.runnable = runnable;
+            this.sync = sync;
+            this.period = period;
+        }
+
+        @Override
+        public int getTaskId() {
+            return taskId;
+        }
+
+        @Override
+        public Plugin getOwner() {
+            return owner;
+        }
+
+        @Override
+        public boolean isSync() {
+            return sync;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private Runnable getRunnable() {
+            return runnable;
+        }
+
+        private long getPeriod() {
+            return period;
+        }
+
+        private long getNextRun() {
+            return nextRun;
+        }
+
+        private void setNextRun(long nextRun) {
+            this.nextRun = nextRun;
+        }
+    }
+}
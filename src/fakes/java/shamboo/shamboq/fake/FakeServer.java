@@ -0,0 +1,377 @@
+package shamboo.shamboq.fake;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.SimplePluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+import org.bukkit.plugin.messaging.Messenger;
+import org.bukkit.plugin.messaging.StandardMessenger;
+import org.bukkit.scheduler.BukkitScheduler;
+import shamboo.shamboq.ShamboQ;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * In-process server stand-in for running ShamboQ without Minecraft.
+ * Uses the real Bukkit plugin manager, event dispatch and plugin messenger, while the scheduler, players,
+ * worlds and the BungeeCord proxy are fakes. Time only moves when {@link #tick()} is called, and the thread
+ * that last drove the server (tick, join, quit or event) counts as its main thread
+ */
+public final class FakeServer {
+    private static FakeServer instance;
+
+    private final Logger logger = Logger.getLogger("FakeServer");
+    private final FakeScheduler scheduler = new FakeScheduler();
+    private final Server proxy;
+    private final BukkitScheduler schedulerProxy;
+    private final Map<UUID, FakePlayer> players = new LinkedHashMap<>();
+    private final Map<UUID, Player> onlinePlayers = new LinkedHashMap<>();
+    private final Collection<Player> onlineView = Collections.unmodifiableCollection(onlinePlayers.values());
+    private final List<World> worlds = new ArrayList<>();
+    private final Map<String, PluginCommand> commands = new HashMap<>();
+    private SimplePluginManager pluginManager;
+    private StandardMessenger messenger;
+    private FakeBungee bungee;
+    private FakeWorld queueWorld;
+    private JavaPlugin plugin;
+    private File dataFolder;
+    private volatile Thread mainThread = Thread.currentThread();
+    private int playerSequence;
+
+    private FakeServer() {
+        this.proxy = FakeProxy.of(Server.class, this);
+        this.schedulerProxy = FakeProxy.of(BukkitScheduler.class, scheduler);
+
+        // Plugin output is noise in benchmarks, only warnings are shown unless asked for
+        logger.setUseParentHandlers(false);
+        ConsoleHandler handler = new ConsoleHandler();
+        handler.setLevel(Level.parse(System.getProperty("shamboq.fake.logLevel", "WARNING")));
+        logger.addHandler(handler);
+        reset();
+    }
+
+    /**
+     * The server of this JVM, installed as the Bukkit server on first use
+     */
+    public static synchronized FakeServer get() {
+        if (instance == null) {
+            instance = new FakeServer();
+            Bukkit.setServer(instance.proxy);
+        }
+        return instance;
+    }
+
+    /**
+     * Drops all players, worlds, listeners and tasks
+     */
+    public void reset() {
+        claimMainThread();
+        scheduler.reset();
+        players.clear();
+        onlinePlayers.clear();
+        commands.clear();
+        HandlerList.unregisterAll();
+        pluginManager = new SimplePluginManager(proxy, new SimpleCommandMap(proxy));
+        messenger = new StandardMessenger();
+        bungee = new FakeBungee(this);
+
+        worlds.clear();
+        worlds.add(new FakeWorld(this, "world", World.Environment.NORMAL).asWorld());
+        queueWorld = new FakeWorld(this, "world_the_end", World.Environment.THE_END);
+        worlds.add(queueWorld.asWorld());
+        playerSequence = 0;
+    }
+
+    /**
+     * Boots ShamboQ with the bundled config.yml and the given overrides
+     * @param overrides Config values by path, e.g. "optimization.dedicated-thread-pool" to false
+     */
+    public ShamboQ enablePlugin(Map<String, Object> overrides) {
+        if (plugin != null) {
+            throw new IllegalStateException("ShamboQ is already enabled");
+        }
+        reset();
+
+        try {
+            dataFolder = Files.createTempDirectory("shamboq-fake").toFile();
+            YamlConfiguration config;
+            try (InputStream defaults = ShamboQ.class.getResourceAsStream("/config.yml")) {
+                config = YamlConfiguration.loadConfiguration(new InputStreamReader(defaults, StandardCharsets.UTF_8));
+            }
+            overrides.forEach(config::set);
+            config.save(new File(dataFolder, "config.yml"));
+
+            PluginDescriptionFile description;
+            try (InputStream stream = ShamboQ.class.getResourceAsStream("/plugin.yml")) {
+                description = new PluginDescriptionFile(stream);
+            }
+
+            @SuppressWarnings("deprecation")
+            JavaPluginLoader loader = new JavaPluginLoader(proxy);
+            ShamboQ shamboQ = new ShamboQ(loader, description, dataFolder, new File(dataFolder, "ShamboQ.jar"));
+            plugin = shamboQ;
+            setEnabled(shamboQ, true);
+            return shamboQ;
+        } catch (Exception e) {
+            plugin = null;
+            throw new IllegalStateException("Failed to enable ShamboQ", e);
+        }
+    }
+
+    /**
+     * Disables the plugin and deletes its data folder
+     */
+    public void disablePlugin() {
+        if (plugin == null) {
+            return;
+        }
+        claimMainThread();
+        try {
+            setEnabled(plugin, false);
+        } finally {
+            plugin = null;
+            deleteDataFolder();
+            reset();
+        }
+    }
+
+    private static void setEnabled(JavaPlugin plugin, boolean enabled) {
+        // JavaPluginLoader only enables plugins it loaded from a jar
+        try {
+            Method method = JavaPlugin.class.getDeclaredMethod("setEnabled", boolean.class);
+            method.setAccessible(true);
+            method.invoke(plugin, enabled);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to " + (enabled ? "enable" : "disable") + " plugin", e);
+        }
+    }
+
+    private void deleteDataFolder() {
+        if (dataFolder == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dataFolder.toPath())) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            logger.warning("Failed to delete " + dataFolder + ": " + e.getMessage());
+        }
+        dataFolder = null;
+    }
+
+    /**
+     * Runs one server tick
+     * @return Number of tasks run
+     */
+    public int tick() {
+        claimMainThread();
+        return scheduler.tick();
+    }
+
+    /**
+     * Makes the calling thread the server main thread
+     */
+    public void claimMainThread() {
+        mainThread = Thread.currentThread();
+    }
+
+    /**
+     * Creates a player standing at the spawn of the default world, without joining it
+     */
+    public FakePlayer createPlayer(String name) {
+        UUID uniqueId = new UUID(0x5A4B0000L, ++playerSequence);
+        return new FakePlayer(this, uniqueId, name, new Location(worlds.get(0), 0, 64, 0));
+    }
+
+    /**
+     * Puts the player online and fires PlayerJoinEvent
+     */
+    public void join(FakePlayer player) {
+        claimMainThread();
+        player.setOnline(true);
+        players.put(player.getUniqueId(), player);
+        onlinePlayers.put(player.getUniqueId(), player.asPlayer());
+        callEvent(new PlayerJoinEvent(player.asPlayer(), player.getName() + " joined the game"));
+    }
+
+    /**
+     * Fires PlayerQuitEvent and takes the player offline
+     */
+    public void quit(FakePlayer player) {
+        claimMainThread();
+        callEvent(new PlayerQuitEvent(player.asPlayer(), player.getName() + " left the game"));
+        players.remove(player.getUniqueId());
+        onlinePlayers.remove(player.getUniqueId());
+        player.setOnline(false);
+    }
+
+    /**
+     * Dispatches an event to the registered listeners
+     */
+    public void callEvent(Event event) {
+        if (!event.isAsynchronous()) {
+            claimMainThread();
+        }
+        pluginManager.callEvent(event);
+    }
+
+    public Server asServer() {
+        return proxy;
+    }
+
+    /**
+     * Proxy stand-in answering the plugin's BungeeCord messages
+     */
+    public FakeBungee getBungee() {
+        return bungee;
+    }
+
+    public FakeScheduler getFakeScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * The End world used as the queue world
+     */
+    public FakeWorld getQueueWorld() {
+        return queueWorld;
+    }
+
+    public FakePlayer getFakePlayer(UUID uniqueId) {
+        return players.get(uniqueId);
+    }
+
+    public Collection<FakePlayer> getFakePlayers() {
+        return Collections.unmodifiableCollection(players.values());
+    }
+
+    // Server methods used by the plugin and the Bukkit API
+
+    public String getName() {
+        return "FakeServer";
+    }
+
+    public String getVersion() {
+        return "fake (MC: 1.20.6)";
+    }
+
+    public String getBukkitVersion() {
+        return "1.20.6-R0.1-SNAPSHOT";
+    }
+
+    public Logger getLogger() {
+        return logger;
+    }
+
+    public BukkitScheduler getScheduler() {
+        return schedulerProxy;
+    }
+
+    public PluginManager getPluginManager() {
+        return pluginManager;
+    }
+
+    public Messenger getMessenger() {
+        return messenger;
+    }
+
+    public List<World> getWorlds() {
+        return Collections.unmodifiableList(worlds);
+    }
+
+    public World getWorld(String name) {
+        for (World world : worlds) {
+            if (world.getName().equals(name)) {
+                return world;
+            }
+        }
+        return null;
+    }
+
+    public Collection<? extends Player> getOnlinePlayers() {
+        return onlineView;
+    }
+
+    public Player getPlayer(UUID uniqueId) {
+        return onlinePlayers.get(uniqueId);
+    }
+
+    public Player getPlayer(String name) {
+        return getPlayerExact(name);
+    }
+
+    public Player getPlayerExact(String name) {
+        for (Player player : onlinePlayers.values()) {
+            if (player.getName().equalsIgnoreCase(name)) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    public int getMaxPlayers() {
+        return 10_000;
+    }
+
+    public int getViewDistance() {
+        return 10;
+    }
+
+    public boolean isPrimaryThread() {
+        return Thread.currentThread() == mainThread;
+    }
+
+    public PluginCommand getPluginCommand(String name) {
+        if (plugin == null) {
+            return null;
+        }
+        return commands.computeIfAbsent(name, key -> {
+            try {
+                Constructor<PluginCommand> constructor = PluginCommand.class.getDeclaredConstructor(String.class, Plugin.class);
+                constructor.setAccessible(true);
+                return constructor.newInstance(key, plugin);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to create command " + key, e);
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "FakeServer";
+    }
+}
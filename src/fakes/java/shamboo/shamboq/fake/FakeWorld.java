@@ -0,0 +1,210 @@
+package shamboo.shamboq.fake;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * World stand-in with a map of loaded chunks. Loading and unloading chunks fires the chunk events,
+ * blocks are always end stone so the spawn platform check passes
+ */
+public final class FakeWorld {
+    private final FakeServer server;
+    private final String name;
+    private final UUID uid = UUID.randomUUID();
+    private final World.Environment environment;
+    private final Map<Long, Chunk> loadedChunks = new LinkedHashMap<>();
+    private final World proxy;
+    private final Block block;
+
+    FakeWorld(FakeServer server, String name, World.Environment environment) {
+        this.server = server;
+        this.name = name;
+        this.environment = environment;
+        this.proxy = FakeProxy.of(World.class, this);
+        this.block = FakeProxy.of(Block.class, new FakeBlock());
+    }
+
+    /**
+     * The World seen by the plugin
+     */
+    public World asWorld() {
+        return proxy;
+    }
+
+    /**
+     * Loads a chunk if it is not loaded yet, firing ChunkLoadEvent
+     */
+    public Chunk loadChunk(int x, int z) {
+        Chunk chunk = loadedChunks.get(key(x, z));
+        if (chunk == null) {
+            chunk = FakeProxy.of(Chunk.class, new FakeChunk(this, x, z));
+            loadedChunks.put(key(x, z), chunk);
+            server.callEvent(new ChunkLoadEvent(chunk, false));
+        }
+        return chunk;
+    }
+
+    private static long key(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    // World methods used by the plugin
+
+    public String getName() {
+        return name;
+    }
+
+    public UUID getUID() {
+        return uid;
+    }
+
+    public World.Environment getEnvironment() {
+        return environment;
+    }
+
+    public Location getSpawnLocation() {
+        return new Location(proxy, 0, 64, 0);
+    }
+
+    public Chunk[] getLoadedChunks() {
+        return loadedChunks.values().toArray(new Chunk[0]);
+    }
+
+    public Chunk getChunkAt(int x, int z) {
+        return loadChunk(x, z);
+    }
+
+    public Chunk getChunkAt(Location location) {
+        return loadChunk(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    public boolean isChunkLoaded(int x, int z) {
+        return loadedChunks.containsKey(key(x, z));
+    }
+
+    public boolean unloadChunk(int x, int z, boolean save) {
+        Chunk chunk = loadedChunks.remove(key(x, z));
+        if (chunk == null) {
+            return false;
+        }
+        server.callEvent(new ChunkUnloadEvent(chunk, save));
+        return true;
+    }
+
+    public boolean unloadChunk(int x, int z) {
+        return unloadChunk(x, z, true);
+    }
+
+    public Block getBlockAt(Location location) {
+        return block;
+    }
+
+    public Block getBlockAt(int x, int y, int z) {
+        return block;
+    }
+
+    public List<Player> getPlayers() {
+        List<Player> players = new ArrayList<>();
+        for (Player player : server.getOnlinePlayers()) {
+            if (player.getWorld() == proxy) {
+                players.add(player);
+            }
+        }
+        return players;
+    }
+
+    public int getViewDistance() {
+        return server.getViewDistance();
+    }
+
+    @Override
+    public String toString() {
+        return "FakeWorld{" + name + "}";
+    }
+
+    /**
+     * Chunk stand-in
+     */
+    public static final class FakeChunk {
+        private final FakeWorld world;
+        private final int x;
+        private final int z;
+        private boolean forceLoaded;
+        private long inhabitedTime;
+
+        private FakeChunk(FakeWorld world, int x, int z) {
+            this.world = world;
+            this.x = x;
+            this.z = z;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getZ() {
+            return z;
+        }
+
+        public World getWorld() {
+            return world.proxy;
+        }
+
+        public boolean isLoaded() {
+            return world.isChunkLoaded(x, z);
+        }
+
+        public boolean unload(boolean save) {
+            return world.unloadChunk(x, z, save);
+        }
+
+        public boolean unload() {
+            return unload(true);
+        }
+
+        public boolean isForceLoaded() {
+            return forceLoaded;
+        }
+
+        public void setForceLoaded(boolean forceLoaded) {
+            this.forceLoaded = forceLoaded;
+        }
+
+        public long getInhabitedTime() {
+            return inhabitedTime;
+        }
+
+        public void setInhabitedTime(long inhabitedTime) {
+            this.inhabitedTime = inhabitedTime;
+        }
+
+        @Override
+        public String toString() {
+            return "FakeChunk{" + x + ", " + z + "}";
+        }
+    }
+
+    /**
+     * Block stand-in, always solid
+     */
+    public static final class FakeBlock {
+        public Material getType() {
+            return Material.END_STONE;
+        }
+
+        public void setType(Material type) {
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package shamboo.shamboq.benchmark;
+
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.fake.FakePlayer;
+import shamboo.shamboq.fake.FakeServer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Boots ShamboQ on the fake server with settings that keep benchmarks deterministic
+ */
+final class BenchmarkPlugin {
+
+    private BenchmarkPlugin() {
+    }
+
+    /**
+     * Enables the plugin with countdowns on the main-thread scheduler, so nothing runs outside of FakeServer.tick
+     * @param overrides Additional config values by path
+     */
+    static ShamboQ enable(Map<String, Object> overrides) {
+        Map<String, Object> config = new HashMap<>();
+        config.put("optimization.dedicated-thread-pool", false);
+        config.put("optimization.cache-capabilities", false);
+        // Longest allowed countdown, so players stay in queue for the whole measurement
+        config.put("queue.time", 3600);
+        config.putAll(overrides);
+        return FakeServer.get().enablePlugin(config);
+    }
+
+    static ShamboQ enable() {
+        return enable(Map.of());
+    }
+
+    /**
+     * Creates a player with the given permissions and joins them
+     */
+    static FakePlayer join(String name, String... permissions) {
+        FakeServer server = FakeServer.get();
+        FakePlayer player = server.createPlayer(name);
+        for (String permission : permissions) {
+            player.addPermission(permission);
+        }
+        server.join(player);
+        return player;
+    }
+
+    static void disable() {
+        FakeServer.get().disablePlugin();
+    }
+}
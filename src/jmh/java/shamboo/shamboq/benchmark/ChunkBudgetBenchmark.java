@@ -0,0 +1,85 @@
+package shamboo.shamboq.benchmark;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.fake.FakeServer;
+import shamboo.shamboq.fake.FakeWorld;
+import shamboo.shamboq.manager.ChunkGovernor;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeping the queue world within its chunk budget: the old enforceChunkLimit pass sorting every loaded chunk
+ * by distance to spawn, against the ChunkGovernor tracking a single chunk load and unload
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChunkBudgetBenchmark {
+    @Param({"64", "1024"})
+    public int loadedChunks;
+
+    private World world;
+    private ChunkGovernor governor;
+    private int spawnChunkX;
+    private int spawnChunkZ;
+    private ChunkLoadEvent loadEvent;
+    private ChunkUnloadEvent unloadEvent;
+
+    @Setup
+    public void setUp() {
+        ShamboQ plugin = BenchmarkPlugin.enable();
+        governor = plugin.getChunkGovernor();
+        spawnChunkX = plugin.getConfigManager().createSpawnLocation().getBlockX() >> 4;
+        spawnChunkZ = plugin.getConfigManager().createSpawnLocation().getBlockZ() >> 4;
+
+        // Square of loaded chunks around spawn
+        FakeWorld queueWorld = FakeServer.get().getQueueWorld();
+        world = queueWorld.asWorld();
+        int side = (int) Math.ceil(Math.sqrt(loadedChunks));
+        for (int i = 0; i < loadedChunks; i++) {
+            queueWorld.loadChunk(spawnChunkX - side / 2 + i % side, spawnChunkZ - side / 2 + i / side);
+        }
+
+        // A chunk far outside the budget, loaded and unloaded again by the governor benchmark
+        Chunk outside = queueWorld.loadChunk(spawnChunkX + 1000, spawnChunkZ);
+        loadEvent = new ChunkLoadEvent(outside, false);
+        unloadEvent = new ChunkUnloadEvent(outside, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkPlugin.disable();
+    }
+
+    @Benchmark
+    public Chunk[] sortByDistance() {
+        Chunk[] chunks = world.getLoadedChunks();
+        Arrays.sort(chunks, (c1, c2) -> {
+            double d1 = Math.pow(c1.getX() - spawnChunkX, 2) + Math.pow(c1.getZ() - spawnChunkZ, 2);
+            double d2 = Math.pow(c2.getX() - spawnChunkX, 2) + Math.pow(c2.getZ() - spawnChunkZ, 2);
+            return Double.compare(d1, d2);
+        });
+        return chunks;
+    }
+
+    @Benchmark
+    public int governorLoadAndUnload() {
+        governor.onChunkLoad(loadEvent);
+        governor.onChunkUnload(unloadEvent);
+        return governor.getOverBudgetChunks();
+    }
+}
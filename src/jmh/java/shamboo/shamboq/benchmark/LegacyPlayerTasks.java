@@ -0,0 +1,54 @@
+package shamboo.shamboq.benchmark;
+
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import shamboo.shamboq.ShamboQ;
+
+import java.util.UUID;
+
+/**
+ * The countdown as it ran before the queue scheduler: one BukkitRunnable per player every 5 ticks,
+ * sending the action bar and a sound on every 4th run. Kept only as a benchmark baseline
+ */
+final class LegacyPlayerTasks {
+
+    private LegacyPlayerTasks() {
+    }
+
+    /**
+     * Starts the old per-player countdown task for a player already frozen by the plugin
+     */
+    static void start(ShamboQ plugin, Player player, int queueTime) {
+        final UUID playerId = player.getUniqueId();
+        new BukkitRunnable() {
+            int timeLeft = queueTime;
+            int soundCounter = 0;
+            int maxSoundCount = queueTime;
+
+            @Override
+            public void run() {
+                if (!player.isOnline() || !plugin.getQueueManager().isRestricted(playerId)) {
+                    this.cancel();
+                    return;
+                }
+
+                // Every 4 iterations = 1 second
+                if (soundCounter % 4 == 0) {
+                    if (timeLeft <= 0) {
+                        this.cancel();
+                        return;
+                    }
+
+                    plugin.getVersionManager().sendActionBar(player,
+                            plugin.getMessageManager().getMessage("countdown", timeLeft));
+                    if (soundCounter < maxSoundCount) {
+                        plugin.getSoundManager().playRandomSound(player);
+                    }
+                    timeLeft--;
+                }
+
+                soundCounter++;
+            }
+        }.runTaskTimer(plugin, 5L, 5L);
+    }
+}
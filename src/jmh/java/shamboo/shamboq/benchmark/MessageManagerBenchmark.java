@@ -0,0 +1,51 @@
+package shamboo.shamboq.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import shamboo.shamboq.manager.MessageManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message lookups and formatting as done for titles and countdown action bars
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageManagerBenchmark {
+    private MessageManager messages;
+    private int seconds;
+
+    @Setup
+    public void setUp() {
+        messages = BenchmarkPlugin.enable().getMessageManager();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkPlugin.disable();
+    }
+
+    @Benchmark
+    public String plainMessage() {
+        return messages.getMessage("welcome_title");
+    }
+
+    @Benchmark
+    public String formattedMessage() {
+        seconds = (seconds + 1) % 3600;
+        return messages.getMessage("countdown", seconds);
+    }
+
+    @Benchmark
+    public String twoArgumentMessage() {
+        seconds = (seconds + 1) % 3600;
+        return messages.getMessage("queue_position", seconds, 3600);
+    }
+}
@@ -0,0 +1,53 @@
+package shamboo.shamboq.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import shamboo.shamboq.util.Counter;
+import shamboo.shamboq.util.MetricsCollector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter increments from 8 threads hitting the same counter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class MetricsCollectorBenchmark {
+    private MetricsCollector collector;
+    private Counter counter;
+
+    // Counters as MetricsCollector stored them before the LongAdder handles
+    private final Map<String, AtomicLong> atomicCounters = new ConcurrentHashMap<>();
+
+    @Setup
+    public void setUp() {
+        collector = new MetricsCollector();
+        counter = collector.counter("player_joins");
+    }
+
+    @Benchmark
+    public void incrementByName() {
+        collector.incrementCounter("player_joins");
+    }
+
+    @Benchmark
+    public void incrementHandle() {
+        counter.increment();
+    }
+
+    @Benchmark
+    public long incrementAtomicLongMap() {
+        return atomicCounters.computeIfAbsent("player_joins", k -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,83 @@
+package shamboo.shamboq.benchmark;
+
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import shamboo.shamboq.fake.FakeProxy;
+import shamboo.shamboq.util.PlayerTickHandles;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pausing player ticks through cached handles against the reflective lookup done on every join before
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayerTickHandlesBenchmark {
+    private Player player;
+    private boolean paused;
+
+    /**
+     * Stand-in for the getHandle method of CraftPlayer
+     */
+    public interface CraftPlayerHandle {
+        Object getHandle();
+    }
+
+    /**
+     * Stand-in for the server player behind CraftPlayer
+     */
+    public static final class ServerPlayer {
+        private boolean frozen;
+    }
+
+    /**
+     * Delegate implementing getHandle for the player proxy
+     */
+    public static final class CraftPlayer {
+        private final ServerPlayer handle = new ServerPlayer();
+
+        public Object getHandle() {
+            return handle;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        player = FakeProxy.of(Player.class, new CraftPlayer(), CraftPlayerHandle.class);
+    }
+
+    @Benchmark
+    public boolean cachedHandles() {
+        paused = !paused;
+        return PlayerTickHandles.setPaused(player, paused);
+    }
+
+    @Benchmark
+    public boolean reflectiveLookup() throws ReflectiveOperationException {
+        paused = !paused;
+        Object handle = player.getClass().getMethod("getHandle").invoke(player);
+
+        // Field names tried in the same order as PlayerTickHandles
+        Field field;
+        try {
+            field = handle.getClass().getDeclaredField("frozen");
+        } catch (NoSuchFieldException e) {
+            try {
+                field = handle.getClass().getDeclaredField("ticksDisabled");
+            } catch (NoSuchFieldException e2) {
+                field = handle.getClass().getDeclaredField("noTickTime");
+            }
+        }
+        field.setAccessible(true);
+        field.setBoolean(handle, paused);
+        return true;
+    }
+}
@@ -0,0 +1,77 @@
+package shamboo.shamboq.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.fake.FakePlayer;
+import shamboo.shamboq.fake.FakeServer;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Main-thread cost of one server tick with players counting down in queue: queue scheduler, inbox,
+ * release gate and every other plugin task. Each iteration is one simulated minute (1200 ticks),
+ * so the score is milliseconds per minute of server time.
+ * The player-tasks variant freezes the same players with the queue disabled and runs the old
+ * per-player countdown task for each of them instead of the queue scheduler
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = QueueTickBenchmark.TICKS_PER_ITERATION)
+@Measurement(iterations = 10, batchSize = QueueTickBenchmark.TICKS_PER_ITERATION)
+public class QueueTickBenchmark {
+    static final int TICKS_PER_ITERATION = 1200;
+
+    @Param({"100", "1000", "2500", "5000"})
+    public int players;
+
+    @Param({"scheduler", "player-tasks"})
+    public String countdowns;
+
+    private FakeServer server;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        boolean legacy = countdowns.equals("player-tasks");
+        // With the queue disabled players are frozen without a countdown, the old tasks count down instead
+        ShamboQ plugin = legacy
+                ? BenchmarkPlugin.enable(Map.of("queue.enabled", false, "queue.show-disabled-message", false))
+                : BenchmarkPlugin.enable();
+        server = FakeServer.get();
+        int queueTime = plugin.getConfigManager().getQueueTime();
+        for (int i = 0; i < players; i++) {
+            FakePlayer player = BenchmarkPlugin.join("Player" + i);
+            if (legacy) {
+                LegacyPlayerTasks.start(plugin, player.asPlayer(), queueTime);
+            }
+        }
+
+        // Measure the steady state, not the setup and visibility backlog of the joins
+        while (plugin.getQueueManager().getJoinPipeline().getPending() > 0) {
+            server.tick();
+        }
+        plugin.getVisibilityManager().flush();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        BenchmarkPlugin.disable();
+    }
+
+    @Benchmark
+    public int serverTick() {
+        return server.tick();
+    }
+}
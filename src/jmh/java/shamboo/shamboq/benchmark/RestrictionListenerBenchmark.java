@@ -0,0 +1,87 @@
+package shamboo.shamboq.benchmark;
+
+import org.bukkit.Location;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import shamboo.shamboq.event.RestrictionListener;
+import shamboo.shamboq.fake.FakeServer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move and interact checks for a queued player and a free player, called directly and through event dispatch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RestrictionListenerBenchmark {
+    private RestrictionListener listener;
+    private Player queued;
+    private Player free;
+    private Location from;
+    private Location to;
+    private Location rotated;
+
+    @Setup
+    public void setUp() {
+        listener = BenchmarkPlugin.enable().getRestrictionListener();
+        queued = BenchmarkPlugin.join("Queued").asPlayer();
+        free = BenchmarkPlugin.join("Free", "shamboq.bypass").asPlayer();
+
+        from = queued.getLocation();
+        to = from.clone().add(0.1, 0, 0);
+        rotated = from.clone();
+        rotated.setYaw(90);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkPlugin.disable();
+    }
+
+    @Benchmark
+    public boolean moveQueued() {
+        PlayerMoveEvent event = new PlayerMoveEvent(queued, from, to);
+        listener.onPlayerMove(event);
+        return event.isCancelled();
+    }
+
+    @Benchmark
+    public boolean moveFree() {
+        PlayerMoveEvent event = new PlayerMoveEvent(free, from, to);
+        listener.onPlayerMove(event);
+        return event.isCancelled();
+    }
+
+    @Benchmark
+    public boolean headRotation() {
+        PlayerMoveEvent event = new PlayerMoveEvent(queued, from, rotated);
+        listener.onPlayerMove(event);
+        return event.isCancelled();
+    }
+
+    @Benchmark
+    public boolean interactQueued() {
+        PlayerInteractEvent event = new PlayerInteractEvent(queued, Action.RIGHT_CLICK_AIR, null, null, BlockFace.SELF);
+        listener.onPlayerInteract(event);
+        return event.isCancelled();
+    }
+
+    @Benchmark
+    public boolean dispatchMoveFree() {
+        PlayerMoveEvent event = new PlayerMoveEvent(free, from, to);
+        FakeServer.get().callEvent(event);
+        return event.isCancelled();
+    }
+}
@@ -2,18 +2,30 @@ package shamboo.shamboq;
 
 import com.google.common.io.ByteStreams;
 import org.bukkit.Bukkit;
+import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
 import org.bukkit.scheduler.BukkitTask;
 import shamboo.shamboq.config.ConfigManager;
 import shamboo.shamboq.config.OptimizationConfig;
+import shamboo.shamboq.connection.AdmissionGate;
 import shamboo.shamboq.connection.ConnectionHandler;
 import shamboo.shamboq.event.PlayerEventListener;
+import shamboo.shamboq.event.RestrictionListener;
 import shamboo.shamboq.manager.*;
 import shamboo.shamboq.util.LogLevel;
+import shamboo.shamboq.util.MainThreadInbox;
 import shamboo.shamboq.util.MetricsCollector;
+import shamboo.shamboq.util.MetricsExporter;
+import shamboo.shamboq.util.RateTracker;
+import shamboo.shamboq.util.TickProfiler;
 
+import java.io.File;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Main ShamboQ plugin class responsible for player queue management
@@ -30,11 +42,30 @@ public final class ShamboQ extends JavaPlugin {
     private CommandManager commandManager;
     private SoundManager soundManager;
     private ConnectionHandler connectionHandler;
+    private AdmissionGate admissionGate;
+    private VisibilityManager visibilityManager;
+    private ChunkGovernor chunkGovernor;
+    private CosmeticGovernor cosmeticGovernor;
+    private RestrictionListener restrictionListener;
     private MetricsCollector metricsCollector;
+    private MetricsExporter metricsExporter;
+    private RateTracker rateTracker;
+    private TickProfiler tickProfiler;
 
     // Configuration
     private OptimizationConfig optimizationConfig;
     private ExecutorService queueThreadPool;
+    private MainThreadInbox mainThreadInbox;
+
+    public ShamboQ() {
+    }
+
+    /**
+     * Constructor for running outside of a server (benchmarks and load simulation)
+     */
+    public ShamboQ(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
 
     private void displayStartupBanner() {
         getLogger().info("ShamboQ v" + getDescription().getVersion() + " - Queue system for Bukkit/Spigot/Paper");
@@ -81,13 +112,18 @@ public final class ShamboQ extends JavaPlugin {
         // Save default configuration if it doesn't exist
         saveDefaultConfig();
 
-        // Initialize metrics collector
+        // Initialize metrics collector and profiler before anything registers its handles
         metricsCollector = new MetricsCollector();
+        tickProfiler = new TickProfiler(this);
 
         // Optimization configuration
         logMessage("Initializing config.yaml...", LogLevel.INFO);
         loadOptimizationConfig();
 
+        // Main thread inbox for work handed over from queue threads
+        mainThreadInbox = new MainThreadInbox(this, optimizationConfig.getInboxBatchSize());
+        mainThreadInbox.start();
+
         // Initialize managers - all in one log instead of many
         logMessage("Initializing managers...", LogLevel.INFO);
 
@@ -95,11 +131,18 @@ public final class ShamboQ extends JavaPlugin {
         messageManager = new MessageManager(this);
         versionManager = new VersionManager(this);
         soundManager = new SoundManager(this);
+        visibilityManager = new VisibilityManager(this);
+        chunkGovernor = new ChunkGovernor(this);
+        cosmeticGovernor = new CosmeticGovernor(this);
+        restrictionListener = new RestrictionListener(this);
         queueManager = new QueueManager(this);
         commandManager = new CommandManager(this);
 
         // Initialize connection handler
         connectionHandler = new ConnectionHandler(this);
+        admissionGate = new AdmissionGate(this);
+        metricsExporter = new MetricsExporter(this);
+        rateTracker = new RateTracker(this);
 
         // Register BungeeCord/Velocity channel and commands
         logMessage("Registering commands...", LogLevel.INFO);
@@ -146,18 +189,45 @@ public final class ShamboQ extends JavaPlugin {
         // Release all players from queue
         queueManager.releaseAllPlayers();
 
+        // Show released players again before the scheduler stops
+        visibilityManager.flush();
+
         // Clear lists and maps
         queueManager.cleanup();
+        visibilityManager.clear();
+
+        // Stop chunk tracking
+        chunkGovernor.stop();
+        cosmeticGovernor.stop();
 
         // Shutdown connection handler
         if (connectionHandler != null) {
             connectionHandler.shutdown();
         }
+        if (admissionGate != null) {
+            admissionGate.stop();
+        }
+
+        // Close the metrics endpoint
+        if (metricsExporter != null) {
+            metricsExporter.stop();
+        }
+        if (rateTracker != null) {
+            rateTracker.stop();
+        }
+        if (tickProfiler != null) {
+            tickProfiler.stop();
+        }
 
         // Restore world settings
         logMessage("Restoring world properties...", LogLevel.INFO);
         configManager.restoreGameRules();
 
+        // Drop pending main thread work
+        if (mainThreadInbox != null) {
+            mainThreadInbox.stop();
+        }
+
         // Close thread pool if it was used
         if (optimizationConfig.isDedicatedThreadPool() && queueThreadPool != null) {
             queueThreadPool.shutdown();
@@ -166,6 +236,8 @@ public final class ShamboQ extends JavaPlugin {
 
         // Log final metrics
         logMessage("Final metrics: " + metricsCollector.getAllMetrics(), LogLevel.INFO);
+        metricsCollector.getHistograms().forEach((name, histogram) ->
+                logMessage("Final " + name + ": " + histogram.summary(""), LogLevel.INFO));
 
         logMessage("ShamboQ has been disabled!", LogLevel.INFO);
     }
@@ -185,13 +257,49 @@ public final class ShamboQ extends JavaPlugin {
         getConfig().addDefault("optimization.spectator-mode", true);
         getConfig().addDefault("optimization.dedicated-thread-pool", true);
         getConfig().addDefault("optimization.thread-pool-size", 1);
+        getConfig().addDefault("optimization.thread-pool-mode", "scheduled");
         getConfig().addDefault("optimization.aggressive-chunk-management", true);
-        getConfig().addDefault("optimization.max-loaded-chunks", 9);
+        getConfig().addDefault("optimization.max-loaded-chunks", 5);
+        getConfig().addDefault("optimization.inbox-batch-size", 256);
+        getConfig().addDefault("optimization.visibility-ops-per-tick", 200);
+        getConfig().addDefault("optimization.chunk-unloads-per-tick", 2);
+        getConfig().addDefault("optimization.cache-capabilities", true);
+        getConfig().addDefault("optimization.cosmetic-governor", true);
+        getConfig().addDefault("optimization.mspt-reduce-sounds", 40.0);
+        getConfig().addDefault("optimization.mspt-throttle-action-bars", 48.0);
+        getConfig().addDefault("optimization.mspt-disable-cosmetics", 60.0);
+        getConfig().addDefault("optimization.mspt-hysteresis", 5.0);
+        getConfig().addDefault("optimization.throttled-action-bar-interval", 3);
+        getConfig().addDefault("optimization.join-setups-per-tick", 20);
+        getConfig().addDefault("optimization.join-setup-millis-per-tick", 5.0);
         getConfig().addDefault("debug", false);
 
         getConfig().options().copyDefaults(true);
         saveConfig();
 
+        this.optimizationConfig = buildOptimizationConfig();
+
+        // Initialize thread pool if enabled
+        if (optimizationConfig.isDedicatedThreadPool()) {
+            queueThreadPool = createQueueThreadPool();
+        }
+
+        // Instead of many logs, one collective log with settings
+        logOptimizationConfig();
+    }
+
+    /**
+     * Rebuilds optimization settings after the config file was reloaded.
+     * The queue thread pool keeps its settings until the next restart
+     */
+    public void reloadOptimizationConfig() {
+        this.optimizationConfig = buildOptimizationConfig();
+        mainThreadInbox.setBatchSize(optimizationConfig.getInboxBatchSize());
+        cosmeticGovernor.start();
+        logOptimizationConfig();
+    }
+
+    private OptimizationConfig buildOptimizationConfig() {
         // Build optimization config using builder pattern
         OptimizationConfig.Builder builder = new OptimizationConfig.Builder()
                 .optimizeChunks(getConfig().getBoolean("optimization.chunk-management"))
@@ -203,19 +311,27 @@ public final class ShamboQ extends JavaPlugin {
                 .spectatorMode(getConfig().getBoolean("optimization.spectator-mode"))
                 .dedicatedThreadPool(getConfig().getBoolean("optimization.dedicated-thread-pool"))
                 .threadPoolSize(getConfig().getInt("optimization.thread-pool-size"))
+                .threadPoolMode(getConfig().getString("optimization.thread-pool-mode", "scheduled"))
                 .aggressiveChunkManagement(getConfig().getBoolean("optimization.aggressive-chunk-management"))
                 .maxLoadedChunks(getConfig().getInt("optimization.max-loaded-chunks"))
-                .queueViewDistance(getConfig().getInt("optimization.queue-view-distance", 2));
-
-        this.optimizationConfig = builder.build();
-
-        // Initialize thread pool if enabled
-        if (optimizationConfig.isDedicatedThreadPool()) {
-            queueThreadPool = Executors.newFixedThreadPool(optimizationConfig.getThreadPoolSize());
-            logMessage("Initialized queue thread pool (size: " + optimizationConfig.getThreadPoolSize() + ")", LogLevel.INFO);
-        }
+                .queueViewDistance(getConfig().getInt("optimization.queue-view-distance", 2))
+                .inboxBatchSize(getConfig().getInt("optimization.inbox-batch-size", 256))
+                .visibilityOpsPerTick(getConfig().getInt("optimization.visibility-ops-per-tick", 200))
+                .chunkUnloadsPerTick(getConfig().getInt("optimization.chunk-unloads-per-tick", 2))
+                .cacheCapabilities(getConfig().getBoolean("optimization.cache-capabilities", true))
+                .cosmeticGovernor(getConfig().getBoolean("optimization.cosmetic-governor", true))
+                .msptReduceSounds(getConfig().getDouble("optimization.mspt-reduce-sounds", 40.0))
+                .msptThrottleActionBars(getConfig().getDouble("optimization.mspt-throttle-action-bars", 48.0))
+                .msptDisableCosmetics(getConfig().getDouble("optimization.mspt-disable-cosmetics", 60.0))
+                .msptHysteresis(getConfig().getDouble("optimization.mspt-hysteresis", 5.0))
+                .throttledActionBarInterval(getConfig().getInt("optimization.throttled-action-bar-interval", 3))
+                .joinSetupsPerTick(getConfig().getInt("optimization.join-setups-per-tick", 20))
+                .joinSetupMillisPerTick(getConfig().getDouble("optimization.join-setup-millis-per-tick", 5.0));
+
+        return builder.build();
+    }
 
-        // Instead of many logs, one collective log with settings
+    private void logOptimizationConfig() {
         logMessage("Loaded optimization settings: chunks=" + optimizationConfig.isOptimizeChunks() +
                 ", mobs=" + optimizationConfig.isDisableMobs() +
                 ", visibility=" + optimizationConfig.isReduceViewDistance() +
@@ -225,12 +341,48 @@ public final class ShamboQ extends JavaPlugin {
                 ", spectator=" + optimizationConfig.isSpectatorMode(), LogLevel.INFO);
     }
 
+    /**
+     * Creates the dedicated queue executor for the configured mode
+     */
+    private ExecutorService createQueueThreadPool() {
+        if (optimizationConfig.getThreadPoolMode() == OptimizationConfig.ThreadPoolMode.VIRTUAL) {
+            try {
+                // Looked up reflectively - virtual threads need Java 21, the plugin targets Java 17
+                ExecutorService executor = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                logMessage("Initialized queue virtual thread executor", LogLevel.INFO);
+                return executor;
+            } catch (Exception e) {
+                logMessage("Virtual threads are not available on Java " + System.getProperty("java.version") +
+                        ", falling back to scheduled thread pool", LogLevel.WARNING);
+            }
+        }
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "ShamboQ-Queue-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        ScheduledThreadPoolExecutor executor =
+                new ScheduledThreadPoolExecutor(optimizationConfig.getThreadPoolSize(), threadFactory);
+        // Cancelled countdowns must not linger in the work queue or run after shutdown
+        executor.setRemoveOnCancelPolicy(true);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        logMessage("Initialized queue thread pool (size: " + optimizationConfig.getThreadPoolSize() + ")", LogLevel.INFO);
+        return executor;
+    }
+
     /**
      * Registers event handlers
      */
     private void registerEventHandlers() {
         PlayerEventListener playerEventListener = new PlayerEventListener(this);
         getServer().getPluginManager().registerEvents(playerEventListener, this);
+
+        // Restriction handlers are registered on demand, only while somebody is frozen or connecting
+        restrictionListener.update();
     }
 
     /**
@@ -242,10 +394,23 @@ public final class ShamboQ extends JavaPlugin {
             queueManager.startNotificationTask();
         }
 
-        // Start chunk limitation task if enabled
-        if (optimizationConfig.isOptimizeChunks() && optimizationConfig.isAggressiveChunkManagement()) {
-            queueManager.startChunkLimitTask();
-        }
+        // Start keeping the queue world within its chunk budget
+        chunkGovernor.start();
+
+        // Step down cosmetics when the tick time climbs
+        cosmeticGovernor.start();
+
+        // Serve metrics to Prometheus if enabled
+        metricsExporter.start();
+
+        // Sample counters once per second for /shamboq rates
+        rateTracker.start();
+
+        // Profile main thread cost if enabled
+        tickProfiler.start();
+
+        // Forget admitted logins that never joined
+        admissionGate.start();
     }
 
     // Manager access
@@ -273,10 +438,42 @@ public final class ShamboQ extends JavaPlugin {
         return connectionHandler;
     }
 
+    public AdmissionGate getAdmissionGate() {
+        return admissionGate;
+    }
+
+    public VisibilityManager getVisibilityManager() {
+        return visibilityManager;
+    }
+
+    public ChunkGovernor getChunkGovernor() {
+        return chunkGovernor;
+    }
+
+    public CosmeticGovernor getCosmeticGovernor() {
+        return cosmeticGovernor;
+    }
+
+    public RestrictionListener getRestrictionListener() {
+        return restrictionListener;
+    }
+
     public MetricsCollector getMetricsCollector() {
         return metricsCollector;
     }
 
+    public MetricsExporter getMetricsExporter() {
+        return metricsExporter;
+    }
+
+    public RateTracker getRateTracker() {
+        return rateTracker;
+    }
+
+    public TickProfiler getTickProfiler() {
+        return tickProfiler;
+    }
+
     public OptimizationConfig getOptimizationConfig() {
         return optimizationConfig;
     }
@@ -284,4 +481,8 @@ public final class ShamboQ extends JavaPlugin {
     public ExecutorService getQueueThreadPool() {
         return queueThreadPool;
     }
+
+    public MainThreadInbox getMainThreadInbox() {
+        return mainThreadInbox;
+    }
 }
\ No newline at end of file
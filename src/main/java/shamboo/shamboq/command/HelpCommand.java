@@ -27,6 +27,8 @@ public class HelpCommand implements Command {
         sender.sendMessage(ChatColor.YELLOW + "/shamboq send <player> - Send a player to the SMP server");
         sender.sendMessage(ChatColor.YELLOW + "/shamboq reload - Reload the configuration");
         sender.sendMessage(ChatColor.YELLOW + "/shamboq status - Show the current status");
+        sender.sendMessage(ChatColor.YELLOW + "/shamboq rates [counter] - Show per-second rates of the metrics");
+        sender.sendMessage(ChatColor.YELLOW + "/shamboq profile [on|off|reset] - Show main thread cost per subsystem");
 
         // Track help command usage
         plugin.getMetricsCollector().incrementCounter("help_views");
@@ -0,0 +1,82 @@
+package shamboo.shamboq.command;
+
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.util.TickProfiler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command to show and control the main thread profiler
+ */
+public class ProfileCommand implements Command {
+    private static final List<String> ACTIONS = Arrays.asList("on", "off", "reset");
+
+    private final ShamboQ plugin;
+
+    public ProfileCommand(ShamboQ plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean execute(CommandSender sender, String[] args) {
+        TickProfiler profiler = plugin.getTickProfiler();
+
+        if (args.length > 0) {
+            switch (args[0].toLowerCase()) {
+                case "on":
+                    profiler.setEnabled(true);
+                    sender.sendMessage(ChatColor.GREEN + "Profiler enabled.");
+                    return true;
+                case "off":
+                    profiler.setEnabled(false);
+                    sender.sendMessage(ChatColor.RED + "Profiler disabled.");
+                    return true;
+                case "reset":
+                    profiler.reset();
+                    sender.sendMessage(ChatColor.GREEN + "Profiler timings cleared.");
+                    return true;
+                default:
+                    sender.sendMessage(ChatColor.RED + "Usage: /shamboq profile [on|off|reset]");
+                    return true;
+            }
+        }
+
+        if (!profiler.isEnabled()) {
+            sender.sendMessage(ChatColor.YELLOW + "Profiler is disabled. Use /shamboq profile on");
+            return true;
+        }
+
+        sender.sendMessage(ChatColor.GOLD + "ShamboQ Main Thread Cost (last minute): " +
+                String.format("%.3f ms/tick", profiler.getTotalMillisPerTick()));
+        for (TickProfiler.Probe probe : profiler.getTopProbes()) {
+            if (probe.getCalls() == 0) {
+                continue;
+            }
+            sender.sendMessage(ChatColor.YELLOW + "  - " + probe.getName() + ": " +
+                    String.format("%.3f ms/tick", probe.getMillisPerTick()) +
+                    ChatColor.GRAY + " (" + probe.getDurations().summary("us") + ")");
+        }
+
+        // Track profile command usage
+        plugin.getMetricsCollector().incrementCounter("profile_views");
+
+        return true;
+    }
+
+    @Override
+    public List<String> tabComplete(CommandSender sender, String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (args.length == 1) {
+            for (String action : ACTIONS) {
+                if (action.startsWith(args[0].toLowerCase())) {
+                    completions.add(action);
+                }
+            }
+        }
+        return completions;
+    }
+}
@@ -0,0 +1,73 @@
+package shamboo.shamboq.command;
+
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.util.RateTracker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command to show current per-second rates of the plugin counters
+ */
+public class RatesCommand implements Command {
+    private static final int SPARKLINE_WIDTH = 30;
+
+    private final ShamboQ plugin;
+
+    public RatesCommand(ShamboQ plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean execute(CommandSender sender, String[] args) {
+        RateTracker rateTracker = plugin.getRateTracker();
+
+        // Single counter
+        if (args.length > 0) {
+            RateTracker.Series series = rateTracker.getSeries(args[0].toLowerCase());
+            if (series == null) {
+                sender.sendMessage(ChatColor.RED + "No rates for counter: " + args[0]);
+                return true;
+            }
+            sender.sendMessage(ChatColor.GOLD + "Rates of " + args[0].toLowerCase() + " (per second):");
+            sendSeries(sender, args[0].toLowerCase(), series);
+            return true;
+        }
+
+        Map<String, RateTracker.Series> active = rateTracker.getActiveSeries();
+        sender.sendMessage(ChatColor.GOLD + "ShamboQ Rates (per second, 1m/5m/15m, last " +
+                RateTracker.WINDOW + "s):");
+        if (active.isEmpty()) {
+            sender.sendMessage(ChatColor.YELLOW + "  No activity in the last 15 minutes");
+        }
+        active.forEach((name, series) -> sendSeries(sender, name, series));
+
+        // Track rates command usage
+        plugin.getMetricsCollector().incrementCounter("rates_views");
+
+        return true;
+    }
+
+    private void sendSeries(CommandSender sender, String name, RateTracker.Series series) {
+        sender.sendMessage(ChatColor.YELLOW + "  - " + name + ": " +
+                String.format("%.2f / %.2f / %.2f", series.getRate1(), series.getRate5(), series.getRate15()) +
+                " " + ChatColor.AQUA + series.sparkline(SPARKLINE_WIDTH) +
+                ChatColor.GRAY + " (" + series.getLastMinute() + " in last minute)");
+    }
+
+    @Override
+    public List<String> tabComplete(CommandSender sender, String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (args.length == 1) {
+            for (String name : plugin.getRateTracker().getActiveSeries().keySet()) {
+                if (name.startsWith(args[0].toLowerCase())) {
+                    completions.add(name);
+                }
+            }
+        }
+        return completions;
+    }
+}
@@ -20,12 +20,15 @@ public class ReloadCommand implements Command {
     public boolean execute(CommandSender sender, String[] args) {
         // Stop all tasks before reloading
         plugin.getQueueManager().stopNotificationTask();
-        plugin.getQueueManager().cancelAllTasks();
+        plugin.getQueueManager().cancelTasksForReload();
 
         // Reload configuration
         plugin.getConfigManager().reload();
+        plugin.reloadOptimizationConfig();
         plugin.getMessageManager().reload();
         plugin.getSoundManager().reload();
+        plugin.getQueueManager().getReleaseGate().reload();
+        plugin.getAdmissionGate().reload();
 
         // Update optimizations
         if (plugin.getOptimizationConfig().isDisableMobs()) {
@@ -36,6 +39,13 @@ public class ReloadCommand implements Command {
             plugin.getConfigManager().setupNoTickZone();
         }
 
+        // Queue world or spawn may have changed
+        plugin.getChunkGovernor().start();
+
+        // Exporter may have been enabled or moved to another port
+        plugin.getMetricsExporter().start();
+        plugin.getTickProfiler().start();
+
         // Restart notification task if needed
         if (!plugin.getConfigManager().isQueueEnabled() &&
                 plugin.getConfigManager().isShowQueueDisabledMessage()) {
@@ -5,7 +5,10 @@ import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.config.ConfigManager;
 import shamboo.shamboq.config.OptimizationConfig;
+import shamboo.shamboq.connection.BackendCapacityTracker;
+import shamboo.shamboq.connection.ReleaseGate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -28,8 +31,25 @@ public class StatusCommand implements Command {
         sender.sendMessage(ChatColor.GOLD + "ShamboQ Status:");
         sender.sendMessage(ChatColor.YELLOW + "Queue Enabled: " +
                 (plugin.getConfigManager().isQueueEnabled() ? "Yes" : "No"));
-        sender.sendMessage(ChatColor.YELLOW + "Queue Time: " +
-                plugin.getConfigManager().getQueueTime() + " seconds");
+        if (plugin.getConfigManager().getQueueMode() == ConfigManager.QueueMode.CAPACITY) {
+            BackendCapacityTracker capacityTracker = plugin.getConnectionHandler().getCapacityTracker();
+            sender.sendMessage(ChatColor.YELLOW + "Queue Mode: Capacity (max " +
+                    plugin.getConfigManager().getCapacityMaxPlayers() + " players)");
+            sender.sendMessage(ChatColor.YELLOW + "  - SMP Players: " +
+                    (capacityTracker.isKnown() ? String.valueOf(capacityTracker.getPlayerCount()) : "Unknown"));
+            sender.sendMessage(ChatColor.YELLOW + "  - Free Slots: " + capacityTracker.getFreeSlots());
+            sender.sendMessage(ChatColor.YELLOW + "  - Waiting in Line: " +
+                    plugin.getQueueManager().getCapacityQueue().size());
+        } else {
+            sender.sendMessage(ChatColor.YELLOW + "Queue Mode: Timer");
+            sender.sendMessage(ChatColor.YELLOW + "Queue Time: " +
+                    plugin.getConfigManager().getQueueTime() + " seconds");
+        }
+        sender.sendMessage(ChatColor.YELLOW + "Priority Lanes: " +
+                (plugin.getConfigManager().getPriorityTiers() > 0
+                        ? plugin.getConfigManager().getPriorityTiers() + " tiers (" +
+                        plugin.getConfigManager().getPriorityHeadStart() + "s head start per tier)"
+                        : "Disabled"));
         sender.sendMessage(ChatColor.YELLOW + "SMP Server: " +
                 plugin.getConfigManager().getSmpServer());
         sender.sendMessage(ChatColor.YELLOW + "Show Disabled Message: " +
@@ -47,6 +67,18 @@ public class StatusCommand implements Command {
             }
         }
         sender.sendMessage(ChatColor.YELLOW + "Players in Connection Process: " + connectionAttempts);
+        sender.sendMessage(ChatColor.YELLOW + "Restriction Handlers: " +
+                (plugin.getRestrictionListener().isRegistered() ? "Registered" : "Idle"));
+
+        // Release gate information
+        ReleaseGate releaseGate = plugin.getQueueManager().getReleaseGate();
+        sender.sendMessage(ChatColor.YELLOW + "Release Gate: " +
+                (releaseGate.getReleaseRate() > 0
+                        ? String.format("%.1f players/s (burst %d)", releaseGate.getReleaseRate(), releaseGate.getBurstSize())
+                        : "Unlimited"));
+        sender.sendMessage(ChatColor.YELLOW + "  - Current Rate: " +
+                String.format("%.1f players/s", releaseGate.getCurrentRate()));
+        sender.sendMessage(ChatColor.YELLOW + "  - Waiting for Release: " + releaseGate.getBacklogSize());
 
         sender.sendMessage(ChatColor.GOLD + "Optimizations:");
         sender.sendMessage(ChatColor.YELLOW + "  - Chunk Management: " +
@@ -55,6 +87,16 @@ public class StatusCommand implements Command {
             sender.sendMessage(ChatColor.YELLOW + "    ↳ Aggressive Management: Enabled (max " +
                     config.getMaxLoadedChunks() + " chunks)");
         }
+        if (config.isOptimizeChunks()) {
+            sender.sendMessage(ChatColor.YELLOW + "    ↳ Loaded Chunks: " +
+                    plugin.getChunkGovernor().getLoadedChunks() + " (" +
+                    plugin.getChunkGovernor().getOverBudgetChunks() + " over budget)");
+        }
+        sender.sendMessage(ChatColor.YELLOW + "  - Cosmetic Governor: " +
+                (config.isCosmeticGovernor()
+                        ? String.format("%s (%.1f ms/tick)", plugin.getCosmeticGovernor().getLevel(),
+                        plugin.getCosmeticGovernor().getMspt())
+                        : "Disabled"));
         sender.sendMessage(ChatColor.YELLOW + "  - Disable Mobs: " +
                 (config.isDisableMobs() ? "Enabled" : "Disabled"));
         sender.sendMessage(ChatColor.YELLOW + "  - Reduced View Distance: " +
@@ -68,8 +110,10 @@ public class StatusCommand implements Command {
         sender.sendMessage(ChatColor.YELLOW + "  - Spectator Mode: " +
                 (config.isSpectatorMode() ? "Enabled" : "Disabled"));
         sender.sendMessage(ChatColor.YELLOW + "  - Dedicated Thread Pool: " +
-                (config.isDedicatedThreadPool() ? "Enabled (" + config.getThreadPoolSize() + " thread" +
-                        (config.getThreadPoolSize() > 1 ? "s" : "") + ")" : "Disabled"));
+                (config.isDedicatedThreadPool() ? "Enabled (" +
+                        (config.getThreadPoolMode() == OptimizationConfig.ThreadPoolMode.VIRTUAL ? "virtual threads" :
+                                config.getThreadPoolSize() + " thread" + (config.getThreadPoolSize() > 1 ? "s" : "")) +
+                        ")" : "Disabled"));
 
         // Connection handler information
         sender.sendMessage(ChatColor.GOLD + "Connection Settings:");
@@ -93,6 +137,11 @@ public class StatusCommand implements Command {
             sender.sendMessage(ChatColor.YELLOW + "  - " + key + ": " + value);
         });
 
+        // Latency percentiles
+        sender.sendMessage(ChatColor.GOLD + "Latency:");
+        plugin.getMetricsCollector().getHistograms().forEach((name, histogram) ->
+                sender.sendMessage(ChatColor.YELLOW + "  - " + name + ": " + histogram.summary("")));
+
         // System information
         String javaVersion = System.getProperty("java.version");
         String osName = System.getProperty("os.name");
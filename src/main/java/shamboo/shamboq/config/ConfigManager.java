@@ -30,6 +30,15 @@ public class ConfigManager {
     private String queueDisabledMessage;
     private int notificationInterval;
 
+    // Capacity mode configuration
+    private QueueMode queueMode;
+    private int capacityMaxPlayers;
+    private int capacityCacheTtl;
+
+    // Priority lanes configuration
+    private int priorityTiers;
+    private int priorityHeadStart;
+
     // Spawn point configuration
     private double spawnX;
     private int spawnY;
@@ -59,6 +68,11 @@ public class ConfigManager {
         config.addDefault("queue.disabled-message", "Queue is currently disabled");
         config.addDefault("queue.show-disabled-message", true);
         config.addDefault("queue.notification-interval", 5); // seconds
+        config.addDefault("queue.mode", "timer");
+        config.addDefault("queue.capacity.max-players", 100);
+        config.addDefault("queue.capacity.cache-ttl", 2); // seconds
+        config.addDefault("queue.priority.tiers", 3);
+        config.addDefault("queue.priority.head-start", 60); // seconds per tier
         config.addDefault("spawn.x", -1.5);
         config.addDefault("spawn.y", 64);
         config.addDefault("spawn.z", 0.5);
@@ -73,6 +87,11 @@ public class ConfigManager {
         queueDisabledMessage = config.getString("queue.disabled-message");
         showQueueDisabledMessage = config.getBoolean("queue.show-disabled-message");
         notificationInterval = Math.max(1, config.getInt("queue.notification-interval"));
+        queueMode = QueueMode.fromString(config.getString("queue.mode"));
+        capacityMaxPlayers = Math.max(1, config.getInt("queue.capacity.max-players"));
+        capacityCacheTtl = Math.max(1, config.getInt("queue.capacity.cache-ttl"));
+        priorityTiers = Math.max(0, config.getInt("queue.priority.tiers"));
+        priorityHeadStart = Math.max(0, config.getInt("queue.priority.head-start"));
         spawnX = config.getDouble("spawn.x");
         spawnY = config.getInt("spawn.y");
         spawnZ = config.getDouble("spawn.z");
@@ -315,6 +334,26 @@ public class ConfigManager {
         return notificationInterval;
     }
 
+    public QueueMode getQueueMode() {
+        return queueMode;
+    }
+
+    public int getCapacityMaxPlayers() {
+        return capacityMaxPlayers;
+    }
+
+    public int getCapacityCacheTtl() {
+        return capacityCacheTtl;
+    }
+
+    public int getPriorityTiers() {
+        return priorityTiers;
+    }
+
+    public int getPriorityHeadStart() {
+        return priorityHeadStart;
+    }
+
     public double getSpawnX() {
         return spawnX;
     }
@@ -351,4 +390,24 @@ public class ConfigManager {
 
         return location;
     }
+
+    /**
+     * How players are released from the queue
+     */
+    public enum QueueMode {
+        // Fixed countdown of queue.time seconds
+        TIMER,
+        // First come, first served whenever the SMP server has free slots
+        CAPACITY;
+
+        /**
+         * Parse a mode from configuration, defaulting to TIMER
+         */
+        public static QueueMode fromString(String value) {
+            if (value != null && value.trim().equalsIgnoreCase("capacity")) {
+                return CAPACITY;
+            }
+            return TIMER;
+        }
+    }
 }
\ No newline at end of file
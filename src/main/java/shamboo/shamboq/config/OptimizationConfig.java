@@ -15,8 +15,21 @@ public class OptimizationConfig {
     private final boolean dedicatedThreadPool;
     private final boolean aggressiveChunkManagement;
     private final int threadPoolSize;
+    private final ThreadPoolMode threadPoolMode;
     private final int maxLoadedChunks;
     private final int queueViewDistance;
+    private final int inboxBatchSize;
+    private final int visibilityOpsPerTick;
+    private final int chunkUnloadsPerTick;
+    private final boolean cacheCapabilities;
+    private final boolean cosmeticGovernor;
+    private final double msptReduceSounds;
+    private final double msptThrottleActionBars;
+    private final double msptDisableCosmetics;
+    private final double msptHysteresis;
+    private final int throttledActionBarInterval;
+    private final int joinSetupsPerTick;
+    private final double joinSetupMillisPerTick;
 
     private OptimizationConfig(Builder builder) {
         this.optimizeChunks = builder.optimizeChunks;
@@ -29,8 +42,21 @@ public class OptimizationConfig {
         this.dedicatedThreadPool = builder.dedicatedThreadPool;
         this.aggressiveChunkManagement = builder.aggressiveChunkManagement;
         this.threadPoolSize = builder.threadPoolSize;
+        this.threadPoolMode = builder.threadPoolMode;
         this.maxLoadedChunks = builder.maxLoadedChunks;
         this.queueViewDistance = builder.queueViewDistance;
+        this.inboxBatchSize = builder.inboxBatchSize;
+        this.visibilityOpsPerTick = builder.visibilityOpsPerTick;
+        this.chunkUnloadsPerTick = builder.chunkUnloadsPerTick;
+        this.cacheCapabilities = builder.cacheCapabilities;
+        this.cosmeticGovernor = builder.cosmeticGovernor;
+        this.msptReduceSounds = builder.msptReduceSounds;
+        this.msptThrottleActionBars = builder.msptThrottleActionBars;
+        this.msptDisableCosmetics = builder.msptDisableCosmetics;
+        this.msptHysteresis = builder.msptHysteresis;
+        this.throttledActionBarInterval = builder.throttledActionBarInterval;
+        this.joinSetupsPerTick = builder.joinSetupsPerTick;
+        this.joinSetupMillisPerTick = builder.joinSetupMillisPerTick;
     }
 
     // Getters
@@ -74,6 +100,10 @@ public class OptimizationConfig {
         return threadPoolSize;
     }
 
+    public ThreadPoolMode getThreadPoolMode() {
+        return threadPoolMode;
+    }
+
     public int getMaxLoadedChunks() {
         return maxLoadedChunks;
     }
@@ -82,6 +112,71 @@ public class OptimizationConfig {
         return queueViewDistance;
     }
 
+    public int getInboxBatchSize() {
+        return inboxBatchSize;
+    }
+
+    public int getVisibilityOpsPerTick() {
+        return visibilityOpsPerTick;
+    }
+
+    public int getChunkUnloadsPerTick() {
+        return chunkUnloadsPerTick;
+    }
+
+    public boolean isCacheCapabilities() {
+        return cacheCapabilities;
+    }
+
+    public boolean isCosmeticGovernor() {
+        return cosmeticGovernor;
+    }
+
+    public double getMsptReduceSounds() {
+        return msptReduceSounds;
+    }
+
+    public double getMsptThrottleActionBars() {
+        return msptThrottleActionBars;
+    }
+
+    public double getMsptDisableCosmetics() {
+        return msptDisableCosmetics;
+    }
+
+    public double getMsptHysteresis() {
+        return msptHysteresis;
+    }
+
+    public int getThrottledActionBarInterval() {
+        return throttledActionBarInterval;
+    }
+
+    public int getJoinSetupsPerTick() {
+        return joinSetupsPerTick;
+    }
+
+    public double getJoinSetupMillisPerTick() {
+        return joinSetupMillisPerTick;
+    }
+
+    /**
+     * Execution mode of the dedicated thread pool
+     */
+    public enum ThreadPoolMode {
+        SCHEDULED, VIRTUAL;
+
+        /**
+         * Parse a mode from configuration, defaulting to SCHEDULED
+         */
+        public static ThreadPoolMode fromString(String value) {
+            if (value != null && value.trim().equalsIgnoreCase("virtual")) {
+                return VIRTUAL;
+            }
+            return SCHEDULED;
+        }
+    }
+
     /**
      * Builder for OptimizationConfig
      */
@@ -96,8 +191,21 @@ public class OptimizationConfig {
         private boolean dedicatedThreadPool = true;
         private boolean aggressiveChunkManagement = true;
         private int threadPoolSize = 1;
-        private int maxLoadedChunks = 9;
+        private ThreadPoolMode threadPoolMode = ThreadPoolMode.SCHEDULED;
+        private int maxLoadedChunks = 5;
         private int queueViewDistance = 2;
+        private int inboxBatchSize = 256;
+        private int visibilityOpsPerTick = 200;
+        private int chunkUnloadsPerTick = 2;
+        private boolean cacheCapabilities = true;
+        private boolean cosmeticGovernor = true;
+        private double msptReduceSounds = 40.0;
+        private double msptThrottleActionBars = 48.0;
+        private double msptDisableCosmetics = 60.0;
+        private double msptHysteresis = 5.0;
+        private int throttledActionBarInterval = 3;
+        private int joinSetupsPerTick = 20;
+        private double joinSetupMillisPerTick = 5.0;
 
         public Builder optimizeChunks(boolean value) {
             this.optimizeChunks = value;
@@ -149,6 +257,11 @@ public class OptimizationConfig {
             return this;
         }
 
+        public Builder threadPoolMode(String value) {
+            this.threadPoolMode = ThreadPoolMode.fromString(value);
+            return this;
+        }
+
         public Builder maxLoadedChunks(int value) {
             this.maxLoadedChunks = Math.max(1, value);
             return this;
@@ -159,6 +272,66 @@ public class OptimizationConfig {
             return this;
         }
 
+        public Builder inboxBatchSize(int value) {
+            this.inboxBatchSize = Math.max(1, value);
+            return this;
+        }
+
+        public Builder visibilityOpsPerTick(int value) {
+            this.visibilityOpsPerTick = Math.max(1, value);
+            return this;
+        }
+
+        public Builder chunkUnloadsPerTick(int value) {
+            this.chunkUnloadsPerTick = Math.max(1, value);
+            return this;
+        }
+
+        public Builder cacheCapabilities(boolean value) {
+            this.cacheCapabilities = value;
+            return this;
+        }
+
+        public Builder cosmeticGovernor(boolean value) {
+            this.cosmeticGovernor = value;
+            return this;
+        }
+
+        public Builder msptReduceSounds(double value) {
+            this.msptReduceSounds = Math.max(0.0, value);
+            return this;
+        }
+
+        public Builder msptThrottleActionBars(double value) {
+            this.msptThrottleActionBars = Math.max(0.0, value);
+            return this;
+        }
+
+        public Builder msptDisableCosmetics(double value) {
+            this.msptDisableCosmetics = Math.max(0.0, value);
+            return this;
+        }
+
+        public Builder msptHysteresis(double value) {
+            this.msptHysteresis = Math.max(0.0, value);
+            return this;
+        }
+
+        public Builder throttledActionBarInterval(int value) {
+            this.throttledActionBarInterval = Math.max(1, value);
+            return this;
+        }
+
+        public Builder joinSetupsPerTick(int value) {
+            this.joinSetupsPerTick = Math.max(1, value);
+            return this;
+        }
+
+        public Builder joinSetupMillisPerTick(double value) {
+            this.joinSetupMillisPerTick = Math.max(0.5, value);
+            return this;
+        }
+
         public OptimizationConfig build() {
             return new OptimizationConfig(this);
         }
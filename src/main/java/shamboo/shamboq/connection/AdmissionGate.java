@@ -0,0 +1,285 @@
+package shamboo.shamboq.connection;
+
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.util.Counter;
+import shamboo.shamboq.util.LogLevel;
+import shamboo.shamboq.util.SlidingWindowLimiter;
+
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Admission control for logins, checked at pre-login before any world or entity work is done.
+ * Limits logins per sliding window, connections per address and the number of players in queue.
+ * Permissions are not known before login, so the limits apply to every player.
+ * Called from the async login threads, apart from join and quit tracking on the main thread
+ */
+public class AdmissionGate {
+    // Admitted logins that never joined are forgotten after this long
+    private static final long PENDING_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * Outcome of a login check
+     */
+    public enum Result {
+        ADMITTED(null),
+        RATE_LIMITED("admission_rate_limited"),
+        ADDRESS_LIMIT("admission_address_limit"),
+        QUEUE_FULL("admission_queue_full");
+
+        private final String messageKey;
+
+        Result(String messageKey) {
+            this.messageKey = messageKey;
+        }
+
+        /**
+         * Key of the kick message, null for admitted logins
+         */
+        public String getMessageKey() {
+            return messageKey;
+        }
+    }
+
+    private final ShamboQ plugin;
+    private final Counter admitted;
+    private final Counter delayed;
+    private final Counter rejectedRate;
+    private final Counter rejectedAddress;
+    private final Counter rejectedFull;
+    private final SlidingWindowLimiter joinLimiter;
+
+    // Admitted players until they leave, and connections per address
+    private final Map<UUID, Admission> admissions = new ConcurrentHashMap<>();
+    private final Map<InetAddress, Integer> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private BukkitTask expireTask;
+
+    // Configuration
+    private volatile boolean enabled;
+    private volatile int joinsPerWindow;
+    private volatile int maxPerAddress;
+    private volatile int maxQueueSize;
+    private volatile long maxDelayNanos;
+
+    public AdmissionGate(ShamboQ plugin) {
+        this.plugin = plugin;
+        this.admitted = plugin.getMetricsCollector().counter("admission_admitted");
+        this.delayed = plugin.getMetricsCollector().counter("admission_delayed");
+        this.rejectedRate = plugin.getMetricsCollector().counter("admission_rejected_rate");
+        this.rejectedAddress = plugin.getMetricsCollector().counter("admission_rejected_address");
+        this.rejectedFull = plugin.getMetricsCollector().counter("admission_rejected_full");
+        this.joinLimiter = new SlidingWindowLimiter(1, 1L);
+        loadConfig();
+    }
+
+    /**
+     * Loads admission configuration from plugin config
+     */
+    private void loadConfig() {
+        plugin.getConfig().addDefault("admission.enabled", false);
+        plugin.getConfig().addDefault("admission.joins-per-window", 100);
+        plugin.getConfig().addDefault("admission.window-seconds", 10);
+        // Behind a proxy without IP forwarding every player shares the proxy's address
+        plugin.getConfig().addDefault("admission.max-per-address", 0);
+        plugin.getConfig().addDefault("admission.max-queue-size", 2000);
+        plugin.getConfig().addDefault("admission.max-delay-ms", 1000);
+        plugin.getConfig().options().copyDefaults(true);
+        plugin.saveConfig();
+
+        // Load values (0 or less disables a limit)
+        enabled = plugin.getConfig().getBoolean("admission.enabled");
+        joinsPerWindow = plugin.getConfig().getInt("admission.joins-per-window");
+        joinLimiter.configure(joinsPerWindow,
+                TimeUnit.SECONDS.toNanos(Math.max(1, plugin.getConfig().getInt("admission.window-seconds"))));
+        maxPerAddress = plugin.getConfig().getInt("admission.max-per-address");
+        maxQueueSize = plugin.getConfig().getInt("admission.max-queue-size");
+        maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, plugin.getConfig().getInt("admission.max-delay-ms")));
+    }
+
+    /**
+     * Reloads configuration, keeping admitted players
+     */
+    public void reload() {
+        loadConfig();
+    }
+
+    /**
+     * Starts forgetting admitted logins that never joined
+     */
+    public void start() {
+        if (expireTask != null) {
+            return;
+        }
+
+        expireTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                expirePending(System.nanoTime());
+            }
+        }.runTaskTimerAsynchronously(plugin, 200L, 200L);
+    }
+
+    public void stop() {
+        if (expireTask != null) {
+            expireTask.cancel();
+            expireTask = null;
+        }
+        admissions.clear();
+        connections.clear();
+        pending.set(0);
+    }
+
+    /**
+     * Checks a login, waiting up to admission.max-delay-ms for room in the join window.
+     * Runs on a login thread, never on the main thread
+     */
+    public Result admit(UUID playerId, InetAddress address) {
+        // A player reconnecting replaces their previous admission
+        release(playerId);
+
+        if (!enabled) {
+            track(playerId, address);
+            return Result.ADMITTED;
+        }
+
+        if (maxPerAddress > 0 && address != null && connections.getOrDefault(address, 0) >= maxPerAddress) {
+            rejectedAddress.increment();
+            return Result.ADDRESS_LIMIT;
+        }
+
+        if (maxQueueSize > 0 && plugin.getQueueManager().getSessions().size() + getPending() >= maxQueueSize) {
+            rejectedFull.increment();
+            return Result.QUEUE_FULL;
+        }
+
+        if (joinsPerWindow > 0 && !acquireJoinSlot()) {
+            rejectedRate.increment();
+            return Result.RATE_LIMITED;
+        }
+
+        track(playerId, address);
+        admitted.increment();
+        return Result.ADMITTED;
+    }
+
+    /**
+     * Takes a slot in the join window, waiting for one if a delay is allowed
+     */
+    private boolean acquireJoinSlot() {
+        long now = System.nanoTime();
+        if (joinLimiter.tryAcquire(now)) {
+            return true;
+        }
+
+        long deadline = now + maxDelayNanos;
+        long wait = joinLimiter.nanosUntilAvailable(now);
+        if (maxDelayNanos <= 0 || now + wait > deadline) {
+            return false;
+        }
+
+        delayed.increment();
+        while (true) {
+            LockSupport.parkNanos(wait);
+            now = System.nanoTime();
+            if (joinLimiter.tryAcquire(now)) {
+                return true;
+            }
+            // Another login took the slot, wait for the next one while the delay allows
+            wait = joinLimiter.nanosUntilAvailable(now);
+            if (now + wait > deadline || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+    }
+
+    private void track(UUID playerId, InetAddress address) {
+        admissions.put(playerId, new Admission(address, System.nanoTime()));
+        pending.incrementAndGet();
+        if (address != null) {
+            connections.merge(address, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Marks an admitted player as joined, so their admission no longer expires
+     */
+    public void trackJoin(UUID playerId) {
+        Admission admission = admissions.get(playerId);
+        if (admission != null && admission.joined.compareAndSet(false, true)) {
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Frees the admission of a player who left or whose login was denied later on
+     */
+    public void release(UUID playerId) {
+        Admission admission = admissions.remove(playerId);
+        if (admission != null) {
+            forget(admission);
+        }
+    }
+
+    private void forget(Admission admission) {
+        // Taking the joined flag makes sure a login is uncounted from pending only once
+        if (admission.joined.compareAndSet(false, true)) {
+            pending.decrementAndGet();
+        }
+        if (admission.address != null) {
+            connections.computeIfPresent(admission.address, (address, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private void expirePending(long nowNanos) {
+        int expired = 0;
+        for (Map.Entry<UUID, Admission> entry : admissions.entrySet()) {
+            Admission admission = entry.getValue();
+            if (!admission.joined.get() && nowNanos - admission.admittedNanos > PENDING_TIMEOUT_NANOS
+                    && admissions.remove(entry.getKey(), admission)) {
+                forget(admission);
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            plugin.logMessage("Forgot " + expired + " admitted logins that never joined", LogLevel.FINE);
+        }
+    }
+
+    /**
+     * Number of admitted logins that have not joined yet
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * Logins within the current join window
+     */
+    public int getWindowCount() {
+        return joinLimiter.getCount(System.nanoTime());
+    }
+
+    /**
+     * Login admitted by the gate
+     */
+    private static final class Admission {
+        private final InetAddress address;
+        private final long admittedNanos;
+        // Set once the player joined or the admission was dropped
+        private final AtomicBoolean joined = new AtomicBoolean();
+
+        private Admission(InetAddress address, long admittedNanos) {
+            this.address = address;
+            this.admittedNanos = admittedNanos;
+        }
+    }
+}
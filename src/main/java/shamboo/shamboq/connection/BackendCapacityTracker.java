@@ -0,0 +1,128 @@
+package shamboo.shamboq.connection;
+
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.util.Counter;
+import shamboo.shamboq.util.LogLevel;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cached player count of the SMP server, polled from the proxy through the PlayerCount subchannel.
+ * Plugin messages need an online player as carrier, so requests are skipped while the lobby is empty
+ */
+public class BackendCapacityTracker {
+    private final ShamboQ plugin;
+    private final Counter capacityPolls;
+
+    // Last answer from the proxy (-1 until the first answer arrives)
+    private volatile int playerCount = -1;
+    private volatile long updatedAt;
+    private volatile long requestedAt;
+
+    // Players released since the last answer, not yet reflected in the count
+    private volatile int releasedSinceUpdate;
+
+    public BackendCapacityTracker(ShamboQ plugin) {
+        this.plugin = plugin;
+        this.capacityPolls = plugin.getMetricsCollector().counter("capacity_polls");
+    }
+
+    /**
+     * Asks the proxy for the SMP player count unless the cached value is still fresh
+     * or an earlier request is still waiting for its answer
+     */
+    public void requestIfStale() {
+        long now = System.nanoTime();
+        long ttlNanos = getTtlNanos();
+        if (playerCount >= 0 && now - updatedAt < ttlNanos) {
+            return;
+        }
+        if (requestedAt != 0 && now - requestedAt < ttlNanos) {
+            return;
+        }
+
+        Iterator<? extends Player> players = Bukkit.getOnlinePlayers().iterator();
+        if (!players.hasNext()) {
+            return;
+        }
+
+        try {
+            ByteArrayDataOutput out = ByteStreams.newDataOutput();
+            out.writeUTF("PlayerCount");
+            out.writeUTF(plugin.getConfigManager().getSmpServer());
+            players.next().sendPluginMessage(plugin, "BungeeCord", out.toByteArray());
+            requestedAt = now;
+
+            // Track capacity polls
+            capacityPolls.increment();
+        } catch (Exception e) {
+            plugin.logMessage("Error requesting player count: " + e.getMessage(), LogLevel.ERROR);
+        }
+    }
+
+    /**
+     * Stores a PlayerCount answer from the proxy
+     * @param server Server the count belongs to
+     * @param count Number of players on that server
+     */
+    public void handlePlayerCount(String server, int count) {
+        if (!server.equalsIgnoreCase(plugin.getConfigManager().getSmpServer())) {
+            return;
+        }
+
+        playerCount = count;
+        releasedSinceUpdate = 0;
+        updatedAt = System.nanoTime();
+        requestedAt = 0;
+        plugin.getMetricsCollector().setGauge("smp_player_count", count);
+        plugin.logMessage("SMP server player count: " + count, LogLevel.FINE);
+    }
+
+    /**
+     * Records a player sent to the SMP server, so the slot is counted before the proxy reports it
+     */
+    public void recordRelease() {
+        releasedSinceUpdate++;
+    }
+
+    /**
+     * Number of players that can be released right now.
+     * Without a recent answer from the proxy nobody is released
+     */
+    public int getFreeSlots() {
+        if (!isKnown()) {
+            return 0;
+        }
+        int free = plugin.getConfigManager().getCapacityMaxPlayers() - playerCount - releasedSinceUpdate;
+        return Math.max(0, free);
+    }
+
+    /**
+     * Whether there is a player count not older than a few cache periods
+     */
+    public boolean isKnown() {
+        return playerCount >= 0 && System.nanoTime() - updatedAt < getTtlNanos() * 3;
+    }
+
+    /**
+     * Last reported player count, or -1 if unknown
+     */
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public void reset() {
+        playerCount = -1;
+        releasedSinceUpdate = 0;
+        requestedAt = 0;
+    }
+
+    private long getTtlNanos() {
+        return TimeUnit.SECONDS.toNanos(plugin.getConfigManager().getCapacityCacheTtl());
+    }
+}
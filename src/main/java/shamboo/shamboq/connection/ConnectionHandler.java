@@ -1,5 +1,6 @@
 package shamboo.shamboq.connection;
 
+import com.google.common.io.ByteArrayDataInput;
 import com.google.common.io.ByteArrayDataOutput;
 import com.google.common.io.ByteStreams;
 import org.bukkit.Bukkit;
@@ -7,22 +8,34 @@ import org.bukkit.entity.Player;
 import org.bukkit.plugin.messaging.PluginMessageListener;
 import org.bukkit.scheduler.BukkitRunnable;
 import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.manager.QueueManager;
+import shamboo.shamboq.queue.QueueSession;
+import shamboo.shamboq.queue.QueueSession.State;
+import shamboo.shamboq.util.Counter;
+import shamboo.shamboq.util.Histogram;
 import shamboo.shamboq.util.LogLevel;
+import shamboo.shamboq.util.TickProfiler;
 
 import java.nio.charset.StandardCharsets;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Connection handler for managing server transfer attempts
  */
 public class ConnectionHandler implements PluginMessageListener {
     private final ShamboQ plugin;
+    private final TickProfiler.Probe retryProbe;
+    private final TickProfiler.Probe timeoutProbe;
+    private final Counter connectionAttempts;
+    private final Counter connectionRetries;
+    private final Counter maxRetriesReached;
 
-    // Map to track ongoing connection attempts and retries
-    private final Map<UUID, ConnectionAttempt> connectionAttempts = new ConcurrentHashMap<>();
+    // Time from the first connect message to the player leaving this server, and between retries
+    private final Histogram transferTime;
+    private final Histogram retryInterval;
+
+    // Cached SMP player count for capacity mode
+    private final BackendCapacityTracker capacityTracker;
 
     // Configuration
     private int maxRetries = 3;
@@ -30,6 +43,14 @@ public class ConnectionHandler implements PluginMessageListener {
 
     public ConnectionHandler(ShamboQ plugin) {
         this.plugin = plugin;
+        this.retryProbe = plugin.getTickProfiler().probe("retries");
+        this.timeoutProbe = plugin.getTickProfiler().probe("timeout_checker");
+        this.connectionAttempts = plugin.getMetricsCollector().counter("connection_attempts");
+        this.connectionRetries = plugin.getMetricsCollector().counter("connection_retries");
+        this.maxRetriesReached = plugin.getMetricsCollector().counter("max_retries_reached");
+        this.transferTime = plugin.getMetricsCollector().histogram("release_to_disconnect_ms");
+        this.retryInterval = plugin.getMetricsCollector().histogram("retry_interval_ms");
+        this.capacityTracker = new BackendCapacityTracker(plugin);
 
         // Register for incoming plugin messages from BungeeCord/Velocity
         plugin.getServer().getMessenger().registerIncomingPluginChannel(plugin, "BungeeCord", this);
@@ -62,14 +83,18 @@ public class ConnectionHandler implements PluginMessageListener {
         new BukkitRunnable() {
             @Override
             public void run() {
-                long currentTime = System.currentTimeMillis();
-                for (Map.Entry<UUID, ConnectionAttempt> entry : connectionAttempts.entrySet()) {
-                    ConnectionAttempt attempt = entry.getValue();
-
-                    // Check if connection attempt has timed out (15 seconds timeout)
-                    if (currentTime - attempt.lastAttemptTime() > 15000) {
-                        handleTimeout(attempt);
+                long start = timeoutProbe.start();
+                try {
+                    long currentTime = System.currentTimeMillis();
+                    for (QueueSession session : plugin.getQueueManager().getSessions()) {
+                        // Check if connection attempt has timed out (15 seconds timeout)
+                        if (session.getState() == State.CONNECTING &&
+                                currentTime - session.getLastAttemptTime() > 15000) {
+                            handleTimeout(session);
+                        }
                     }
+                } finally {
+                    timeoutProbe.stop(start);
                 }
             }
         }.runTaskTimer(plugin, 100L, 100L); // Run every 5 seconds (100 ticks)
@@ -79,41 +104,30 @@ public class ConnectionHandler implements PluginMessageListener {
      * Sends a player to the specified server with error handling
      */
     public void sendToServer(Player player, String serverName) {
-        final UUID playerId = player.getUniqueId();
-
-        // Create and store connection attempt
-        ConnectionAttempt attempt = new ConnectionAttempt(playerId, serverName);
-        attempt.incrementAttempt(); // Set attempt to 1
-        connectionAttempts.put(playerId, attempt);
+        // Players released from the queue already have a session, manual sends get a new one
+        QueueManager queueManager = plugin.getQueueManager();
+        QueueSession session = queueManager.getSession(player.getUniqueId());
+        if (session == null || session.getState() == State.DONE) {
+            session = queueManager.openSession(player, null, State.CONNECTING);
+        }
+        int attempt = session.beginAttempt(serverName);
 
         // Track connection attempts
-        plugin.getMetricsCollector().incrementCounter("connection_attempts");
+        connectionAttempts.increment();
 
-        // Send player to server asynchronously
-        CompletableFuture.runAsync(() -> {
+        // Send plugin message to BungeeCord/Velocity - this must run on main thread
+        plugin.getMainThreadInbox().post(() -> {
             try {
-                // Send plugin message to BungeeCord/Velocity
                 ByteArrayDataOutput out = ByteStreams.newDataOutput();
                 out.writeUTF("Connect");
                 out.writeUTF(serverName);
 
-                // This must run on main thread
-                new BukkitRunnable() {
-                    @Override
-                    public void run() {
-                        try {
-                            player.sendPluginMessage(plugin, "BungeeCord", out.toByteArray());
-                            plugin.logMessage("Sending player " + player.getName() + " to server " + serverName +
-                                    " (Attempt " + attempt.attemptCount().get() + ")", LogLevel.INFO);
-                        } catch (Exception e) {
-                            // Handle immediate errors
-                            plugin.logMessage("Error sending plugin message: " + e.getMessage(), LogLevel.ERROR);
-                            handleConnectionError(player, "Internal error: " + e.getMessage());
-                        }
-                    }
-                }.runTask(plugin);
+                player.sendPluginMessage(plugin, "BungeeCord", out.toByteArray());
+                plugin.logMessage("Sending player " + player.getName() + " to server " + serverName +
+                        " (Attempt " + attempt + ")", LogLevel.INFO);
             } catch (Exception e) {
-                plugin.logMessage("Error preparing connection: " + e.getMessage(), LogLevel.ERROR);
+                // Handle immediate errors
+                plugin.logMessage("Error sending plugin message: " + e.getMessage(), LogLevel.ERROR);
                 handleConnectionError(player, "Internal error: " + e.getMessage());
             }
         });
@@ -129,13 +143,26 @@ public class ConnectionHandler implements PluginMessageListener {
         }
 
         try {
-            // Parse the message
-            String subChannel = new String(message, StandardCharsets.UTF_8);
+            // Parse the message - proxy answers start with the subchannel name
+            ByteArrayDataInput in = ByteStreams.newDataInput(message);
+            String subChannel;
+            try {
+                subChannel = in.readUTF();
+            } catch (IllegalStateException e) {
+                // Not length-prefixed, fall back to the raw payload
+                subChannel = new String(message, StandardCharsets.UTF_8);
+            }
+
+            if (subChannel.equals("PlayerCount")) {
+                String server = in.readUTF();
+                int count = in.readInt();
+                capacityTracker.handlePlayerCount(server, count);
+                return;
+            }
 
             // Handle connection response messages
             if (subChannel.startsWith("ConnectFailed")) {
-                UUID playerId = player.getUniqueId();
-                if (connectionAttempts.containsKey(playerId)) {
+                if (hasOngoingConnectionAttempt(player.getUniqueId())) {
                     handleConnectionError(player, "Server unavailable");
                 }
             }
@@ -147,36 +174,23 @@ public class ConnectionHandler implements PluginMessageListener {
     /**
      * Handles connection timeout for a player
      */
-    private void handleTimeout(ConnectionAttempt attempt) {
-        UUID playerId = attempt.playerId();
-        Player player = Bukkit.getPlayer(playerId);
+    private void handleTimeout(QueueSession session) {
+        Player player = Bukkit.getPlayer(session.getPlayerId());
 
         if (player == null || !player.isOnline()) {
-            // Player is no longer online, remove the attempt
-            connectionAttempts.remove(playerId);
+            // Player is no longer online, end the session
+            plugin.getQueueManager().closeSession(session.getPlayerId());
             return;
         }
 
-        int attemptCount = attempt.attemptCount().get();
-        if (attemptCount >= maxRetries) {
+        if (session.getAttemptCount() >= maxRetries) {
             // Max retries reached
             handleMaxRetriesReached(player);
-        } else {
+        } else if (session.transition(State.CONNECTING, State.RETRY_WAIT)) {
             // Retry the connection
             String message = plugin.getMessageManager().getMessage("connection_timeout", retryDelaySeconds);
             player.sendMessage(message);
-
-            // Schedule retry
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    if (player.isOnline()) {
-                        retryConnection(player, attempt.targetServer());
-                    } else {
-                        connectionAttempts.remove(playerId);
-                    }
-                }
-            }.runTaskLater(plugin, retryDelaySeconds * 20L);
+            scheduleRetry(player, session);
         }
     }
 
@@ -184,56 +198,58 @@ public class ConnectionHandler implements PluginMessageListener {
      * Handles connection error
      */
     private void handleConnectionError(Player player, String errorMessage) {
-        UUID playerId = player.getUniqueId();
-        ConnectionAttempt attempt = connectionAttempts.get(playerId);
+        QueueSession session = plugin.getQueueManager().getSession(player.getUniqueId());
 
-        if (attempt == null) {
+        if (session == null || !session.isConnecting()) {
             // No ongoing connection attempt found
             plugin.logMessage("Connection error for " + player.getName() + " but no attempt found", LogLevel.WARNING);
             return;
         }
 
-        int attemptCount = attempt.attemptCount().get();
-        if (attemptCount >= maxRetries) {
+        if (session.getAttemptCount() >= maxRetries) {
             // Max retries reached
             handleMaxRetriesReached(player);
-        } else {
+        } else if (session.transition(State.CONNECTING, State.RETRY_WAIT)) {
             // Show error message
             String message = plugin.getMessageManager().getMessage("connection_error", errorMessage);
             player.sendMessage(message);
+            scheduleRetry(player, session);
+        }
+    }
 
-            // Schedule retry
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    if (player.isOnline()) {
-                        retryConnection(player, attempt.targetServer());
-                    } else {
-                        connectionAttempts.remove(playerId);
+    /**
+     * Schedules the next attempt of a session waiting for a retry
+     */
+    private void scheduleRetry(Player player, QueueSession session) {
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                long start = retryProbe.start();
+                try {
+                    if (!player.isOnline()) {
+                        plugin.getQueueManager().closeSession(session.getPlayerId());
+                    } else if (session.getState() == State.RETRY_WAIT) {
+                        retryConnection(player, session);
                     }
+                } finally {
+                    retryProbe.stop(start);
                 }
-            }.runTaskLater(plugin, retryDelaySeconds * 20L);
-        }
+            }
+        }.runTaskLater(plugin, retryDelaySeconds * 20L);
     }
 
     /**
      * Retries a connection attempt
      */
-    private void retryConnection(Player player, String serverName) {
-        UUID playerId = player.getUniqueId();
-        ConnectionAttempt attempt = connectionAttempts.get(playerId);
-
-        if (attempt == null) {
-            // Create a new attempt if none exists
-            attempt = new ConnectionAttempt(playerId, serverName);
-            connectionAttempts.put(playerId, attempt);
-        }
+    private void retryConnection(Player player, QueueSession session) {
+        String serverName = session.getTargetServer();
+        retryInterval.record(System.currentTimeMillis() - session.getLastAttemptTime());
 
         // Increment attempt count
-        int newAttemptCount = attempt.incrementAttempt();
+        int newAttemptCount = session.beginAttempt(serverName);
 
         // Track retry attempts
-        plugin.getMetricsCollector().incrementCounter("connection_retries");
+        connectionRetries.increment();
 
         // Send player to server again
         ByteArrayDataOutput out = ByteStreams.newDataOutput();
@@ -255,22 +271,26 @@ public class ConnectionHandler implements PluginMessageListener {
      * Handles case when max retries are reached
      */
     private void handleMaxRetriesReached(Player player) {
-        UUID playerId = player.getUniqueId();
-
-        // Remove the connection attempt
-        connectionAttempts.remove(playerId);
+        QueueManager queueManager = plugin.getQueueManager();
 
         // Show message to player
         player.sendMessage(plugin.getMessageManager().getMessage("max_retries_reached", maxRetries));
 
         // Track max retries
-        plugin.getMetricsCollector().incrementCounter("max_retries_reached");
+        maxRetriesReached.increment();
+
+        // Make sure player stays frozen - the attempt ends, the queued session waits in the lobby again
+        QueueSession session = queueManager.getSession(player.getUniqueId());
+        if (queueManager.isPlayerFrozen(player)) {
+            session.moveTo(State.WAITING);
+            return;
+        }
 
-        // Make sure player stays frozen
-        if (!plugin.getQueueManager().isPlayerFrozen(player)) {
-            // Player was removed from queue during connection attempts, add back
+        // Player was removed from queue during connection attempts or sent manually, add back if the queue is on
+        queueManager.closeSession(player.getUniqueId());
+        if (plugin.getConfigManager().isQueueEnabled()) {
             player.sendMessage(plugin.getMessageManager().getMessage("back_in_queue"));
-            plugin.getQueueManager().addToQueue(player);
+            queueManager.addToQueue(player);
         }
     }
 
@@ -278,14 +298,33 @@ public class ConnectionHandler implements PluginMessageListener {
      * Checks if player has an ongoing connection attempt
      */
     public boolean hasOngoingConnectionAttempt(UUID playerId) {
-        return connectionAttempts.containsKey(playerId);
+        QueueSession session = plugin.getQueueManager().getSession(playerId);
+        return session != null && session.isConnecting();
+    }
+
+    /**
+     * Records the transfer time of a player leaving this server during a connection attempt.
+     * Must be called before the session is closed
+     */
+    public void recordDisconnect(UUID playerId) {
+        QueueSession session = plugin.getQueueManager().getSession(playerId);
+        if (session != null && session.isConnecting() && session.getFirstAttemptTime() > 0) {
+            transferTime.record(System.currentTimeMillis() - session.getFirstAttemptTime());
+        }
     }
 
     /**
      * Cancels a connection attempt
      */
     public void cancelConnectionAttempt(UUID playerId) {
-        connectionAttempts.remove(playerId);
+        QueueSession session = plugin.getQueueManager().getSession(playerId);
+        if (session != null && session.isConnecting()) {
+            plugin.getQueueManager().closeSession(playerId);
+        }
+    }
+
+    public BackendCapacityTracker getCapacityTracker() {
+        return capacityTracker;
     }
 
     /**
@@ -294,6 +333,5 @@ public class ConnectionHandler implements PluginMessageListener {
     public void shutdown() {
         // Unregister the plugin channel
         plugin.getServer().getMessenger().unregisterIncomingPluginChannel(plugin, "BungeeCord", this);
-        connectionAttempts.clear();
     }
 }
\ No newline at end of file
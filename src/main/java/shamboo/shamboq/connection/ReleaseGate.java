@@ -0,0 +1,199 @@
+package shamboo.shamboq.connection;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.queue.QueueTicket;
+import shamboo.shamboq.queue.WaitingLine;
+import shamboo.shamboq.util.Counter;
+import shamboo.shamboq.util.LogLevel;
+import shamboo.shamboq.util.TickProfiler;
+import shamboo.shamboq.util.TokenBucket;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Admission gate between the queue and the SMP server.
+ * Players whose countdown has expired wait here in ticket order until the token bucket allows their release
+ */
+public class ReleaseGate {
+    private static final long RATE_WINDOW_NANOS = 1_000_000_000L;
+
+    private final ShamboQ plugin;
+    private final TickProfiler.Probe probe;
+    private final Counter releaseGateEnqueued;
+    private final Counter releaseGateReleased;
+    private final Consumer<Player> releaseAction;
+    private final WaitingLine backlog = new WaitingLine();
+    private final TokenBucket tokenBucket;
+    private BukkitTask drainTask;
+
+    // Configuration
+    private double releaseRate;
+    private int burstSize;
+
+    // Measured release rate
+    private long windowStart = System.nanoTime();
+    private int releasedInWindow;
+    private double currentRate;
+
+    public ReleaseGate(ShamboQ plugin, Consumer<Player> releaseAction) {
+        this.plugin = plugin;
+        this.probe = plugin.getTickProfiler().probe("release_gate");
+        this.releaseGateEnqueued = plugin.getMetricsCollector().counter("release_gate_enqueued");
+        this.releaseGateReleased = plugin.getMetricsCollector().counter("release_gate_released");
+        this.releaseAction = releaseAction;
+        loadConfig();
+        this.tokenBucket = new TokenBucket(releaseRate, burstSize);
+    }
+
+    /**
+     * Loads release gate configuration from plugin config
+     */
+    private void loadConfig() {
+        plugin.getConfig().addDefault("release.players-per-second", 10.0);
+        plugin.getConfig().addDefault("release.burst-size", 20);
+        plugin.getConfig().options().copyDefaults(true);
+        plugin.saveConfig();
+
+        // Load values (0 or less disables the limit)
+        releaseRate = plugin.getConfig().getDouble("release.players-per-second");
+        burstSize = Math.max(1, plugin.getConfig().getInt("release.burst-size"));
+    }
+
+    /**
+     * Reloads configuration, keeping the current backlog
+     */
+    public void reload() {
+        loadConfig();
+        tokenBucket.configure(releaseRate, burstSize);
+    }
+
+    /**
+     * Adds a player whose countdown expired to the release backlog
+     * @param ticket Queue ticket of the player, deciding their place in the backlog
+     */
+    public void enqueue(QueueTicket ticket) {
+        if (!backlog.contains(ticket.playerId())) {
+            backlog.add(ticket);
+            releaseGateEnqueued.increment();
+        }
+        ensureDrainRunning();
+
+        // Release right away if a token is available
+        drain();
+    }
+
+    /**
+     * Removes a player from the backlog (quit, manual send, queue reset)
+     * @return Whether the player was waiting
+     */
+    public boolean remove(UUID playerId) {
+        return backlog.remove(playerId);
+    }
+
+    public boolean isWaiting(UUID playerId) {
+        return backlog.contains(playerId);
+    }
+
+    /**
+     * Drops the whole backlog and stops the drain task
+     */
+    public void clear() {
+        backlog.clear();
+        stopDrain();
+    }
+
+    private void ensureDrainRunning() {
+        if (drainTask != null) {
+            return;
+        }
+
+        drainTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                long start = probe.start();
+                try {
+                    drain();
+                    if (backlog.isEmpty()) {
+                        stopDrain();
+                    }
+                } finally {
+                    probe.stop(start);
+                }
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    private void stopDrain() {
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+    }
+
+    private void drain() {
+        long now = System.nanoTime();
+        updateRate(now);
+
+        while (!backlog.isEmpty()) {
+            // Look at the head again every time - the release action may modify the backlog
+            UUID playerId = backlog.peek();
+            Player player = Bukkit.getPlayer(playerId);
+            if (player == null || !player.isOnline()) {
+                backlog.remove(playerId);
+                continue;
+            }
+
+            if (releaseRate > 0 && !tokenBucket.tryAcquire(now)) {
+                break;
+            }
+            backlog.remove(playerId);
+
+            releasedInWindow++;
+            releaseGateReleased.increment();
+            try {
+                releaseAction.accept(player);
+            } catch (Exception e) {
+                plugin.logMessage("Error releasing player " + player.getName() + ": " + e.getMessage(), LogLevel.ERROR);
+            }
+        }
+
+        plugin.getMetricsCollector().setGauge("release_gate_backlog", backlog.size());
+    }
+
+    private void updateRate(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed >= RATE_WINDOW_NANOS) {
+            currentRate = releasedInWindow * (double) RATE_WINDOW_NANOS / elapsed;
+            releasedInWindow = 0;
+            windowStart = now;
+        }
+    }
+
+    /**
+     * Configured release limit in players per second (0 or less means unlimited)
+     */
+    public double getReleaseRate() {
+        return releaseRate;
+    }
+
+    public int getBurstSize() {
+        return burstSize;
+    }
+
+    /**
+     * Measured release rate over the last full second
+     */
+    public double getCurrentRate() {
+        updateRate(System.nanoTime());
+        return currentRate;
+    }
+
+    public int getBacklogSize() {
+        return backlog.size();
+    }
+}
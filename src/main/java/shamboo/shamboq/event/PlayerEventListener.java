@@ -1,16 +1,17 @@
 package shamboo.shamboq.event;
 
 import org.bukkit.ChatColor;
-import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.block.BlockBreakEvent;
-import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.player.*;
 import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.connection.AdmissionGate;
+import shamboo.shamboq.queue.QueueProfile;
+import shamboo.shamboq.util.Counter;
 import shamboo.shamboq.util.LogLevel;
+import shamboo.shamboq.util.TickProfiler;
 
 import java.util.UUID;
 
@@ -19,151 +20,126 @@ import java.util.UUID;
  */
 public class PlayerEventListener implements Listener {
     private final ShamboQ plugin;
+    private final TickProfiler.Probe joinProbe;
+    private final TickProfiler.Probe quitProbe;
+    private final Counter playerJoins;
+    private final Counter playerQuits;
 
     public PlayerEventListener(ShamboQ plugin) {
         this.plugin = plugin;
+        this.joinProbe = plugin.getTickProfiler().probe("join");
+        this.quitProbe = plugin.getTickProfiler().probe("quit");
+        this.playerJoins = plugin.getMetricsCollector().counter("player_joins");
+        this.playerQuits = plugin.getMetricsCollector().counter("player_quits");
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void onPlayerJoin(PlayerJoinEvent event) {
-        final Player player = event.getPlayer();
-
-        // If player has bypass permission, skip
-        if (player.hasPermission("shamboq.bypass")) {
-            plugin.logMessage(player.getName() + " bypassed queue (shamboq.bypass permission)", LogLevel.FINE);
+    /**
+     * Admission control before any world or entity work, runs on a login thread
+     */
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
             return;
         }
 
-        // Track player joins
-        plugin.getMetricsCollector().incrementCounter("player_joins");
-
-        // FIX: Don't start queue process if queue is disabled
-        if (!plugin.getConfigManager().isQueueEnabled()) {
-            if (plugin.getConfigManager().isShowQueueDisabledMessage()) {
-                player.sendTitle(
-                        plugin.getMessageManager().getMessage("queue_disabled_title"),
-                        ChatColor.YELLOW + plugin.getConfigManager().getQueueDisabledMessage(),
-                        10, 40, 20
-                );
-            }
-            // Still freeze player, but without queue process
-            plugin.getQueueManager().freezePlayerWithoutQueue(player);
-        } else {
-            // Add player to queue only when queue is enabled
-            plugin.getQueueManager().addToQueue(player);
+        AdmissionGate.Result result = plugin.getAdmissionGate().admit(event.getUniqueId(), event.getAddress());
+        if (result != AdmissionGate.Result.ADMITTED) {
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER,
+                    plugin.getMessageManager().getMessage(result.getMessageKey()));
+            plugin.logMessage("Rejected login of " + event.getName() + ": " + result, LogLevel.FINE);
         }
     }
 
-    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-    public void onPlayerQuit(PlayerQuitEvent event) {
-        Player player = event.getPlayer();
-        UUID playerId = player.getUniqueId();
-
-        // Track player quits
-        plugin.getMetricsCollector().incrementCounter("player_quits");
-
-        // Cancel any ongoing connection attempts
-        if (plugin.getConnectionHandler().hasOngoingConnectionAttempt(playerId)) {
-            plugin.getConnectionHandler().cancelConnectionAttempt(playerId);
-            plugin.logMessage(player.getName() + " left during connection attempt", LogLevel.FINE);
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLoginResult(AsyncPlayerPreLoginEvent event) {
+        // Denied by another plugin after the gate admitted it
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            plugin.getAdmissionGate().release(event.getUniqueId());
         }
+    }
 
-        // Remove player from queue
-        if (plugin.getQueueManager().isPlayerFrozen(player)) {
-            plugin.getQueueManager().removeFromQueue(player);
-            plugin.logMessage(player.getName() + " left the server and was removed from queue", LogLevel.FINE);
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLogin(PlayerLoginEvent event) {
+        // Banned, whitelisted out or server full
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            plugin.getAdmissionGate().release(event.getPlayer().getUniqueId());
         }
     }
 
-    // Block movement for frozen players
     @EventHandler(priority = EventPriority.HIGHEST)
-    public void onPlayerMove(PlayerMoveEvent event) {
-        Player player = event.getPlayer();
-        UUID playerId = player.getUniqueId();
-
-        if (plugin.getQueueManager().isPlayerFrozen(player) ||
-                plugin.getConnectionHandler().hasOngoingConnectionAttempt(playerId)) {
-            // Allow player to look around, but block movement
-            Location from = event.getFrom();
-            Location to = event.getTo();
-
-            if (to != null && (from.getX() != to.getX() || from.getY() != to.getY() || from.getZ() != to.getZ())) {
-                // Player tries to move - cancel movement
-                event.setCancelled(true);
-
-                // Track blocked moves
-                plugin.getMetricsCollector().incrementCounter("blocked_moves");
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        long start = joinProbe.start();
+        try {
+            final Player player = event.getPlayer();
+
+            // Bypass and priority from the live permissions, checked once per join
+            QueueProfile profile = plugin.getQueueManager().resolveProfile(player);
+            plugin.getAdmissionGate().trackJoin(player.getUniqueId());
+
+            // If player has bypass permission, skip
+            if (profile.bypass()) {
+                plugin.logMessage(player.getName() + " bypassed queue (shamboq.bypass permission)", LogLevel.FINE);
+
+                // Keep the player hidden from anybody waiting in queue
+                plugin.getVisibilityManager().trackJoin(player);
+                return;
             }
-        }
-    }
 
-    // Block teleportation for frozen players
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void onPlayerTeleport(PlayerTeleportEvent event) {
-        Player player = event.getPlayer();
-        UUID playerId = player.getUniqueId();
-
-        if (plugin.getQueueManager().isPlayerFrozen(player) ||
-                plugin.getConnectionHandler().hasOngoingConnectionAttempt(playerId)) {
-            // Check if this is teleportation initiated by this plugin
-            if (event.getCause() != PlayerTeleportEvent.TeleportCause.PLUGIN) {
-                event.setCancelled(true);
-                plugin.getMetricsCollector().incrementCounter("blocked_teleports");
+            // Track player joins
+            playerJoins.increment();
+
+            // FIX: Don't start queue process if queue is disabled
+            if (!plugin.getConfigManager().isQueueEnabled()) {
+                if (plugin.getConfigManager().isShowQueueDisabledMessage()) {
+                    player.sendTitle(
+                            plugin.getMessageManager().getMessage("queue_disabled_title"),
+                            ChatColor.YELLOW + plugin.getConfigManager().getQueueDisabledMessage(),
+                            10, 40, 20
+                    );
+                }
+                // Still freeze player, but without queue process
+                plugin.getQueueManager().freezePlayerWithoutQueue(player, profile);
+            } else {
+                // Add player to queue only when queue is enabled
+                plugin.getQueueManager().addToQueue(player, profile);
             }
+        } finally {
+            joinProbe.stop(start);
         }
     }
 
-    // Block interaction with blocks
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void onPlayerInteract(PlayerInteractEvent event) {
-        Player player = event.getPlayer();
-        UUID playerId = player.getUniqueId();
-
-        if (plugin.getQueueManager().isPlayerFrozen(player) ||
-                plugin.getConnectionHandler().hasOngoingConnectionAttempt(playerId)) {
-            event.setCancelled(true);
-            plugin.getMetricsCollector().incrementCounter("blocked_interactions");
-        }
-    }
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        long start = quitProbe.start();
+        try {
+            Player player = event.getPlayer();
+            UUID playerId = player.getUniqueId();
 
-    // Block breaking blocks
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void onBlockBreak(BlockBreakEvent event) {
-        Player player = event.getPlayer();
-        UUID playerId = player.getUniqueId();
-
-        if (plugin.getQueueManager().isPlayerFrozen(player) ||
-                plugin.getConnectionHandler().hasOngoingConnectionAttempt(playerId)) {
-            event.setCancelled(true);
-            plugin.getMetricsCollector().incrementCounter("blocked_breaks");
-        }
-    }
+            // Track player quits
+            playerQuits.increment();
 
-    // Block placing blocks
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void onBlockPlace(BlockPlaceEvent event) {
-        Player player = event.getPlayer();
-        UUID playerId = player.getUniqueId();
-
-        if (plugin.getQueueManager().isPlayerFrozen(player) ||
-                plugin.getConnectionHandler().hasOngoingConnectionAttempt(playerId)) {
-            event.setCancelled(true);
-            plugin.getMetricsCollector().incrementCounter("blocked_places");
-        }
-    }
+            // Leaving during a connection attempt is the transfer to the SMP server
+            plugin.getConnectionHandler().recordDisconnect(playerId);
 
-    // Block player commands during connection attempts
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void onPlayerCommand(PlayerCommandPreprocessEvent event) {
-        Player player = event.getPlayer();
-        UUID playerId = player.getUniqueId();
-
-        // Block commands during connection attempts (except for admins)
-        if (plugin.getConnectionHandler().hasOngoingConnectionAttempt(playerId) &&
-                !player.hasPermission("shamboq.bypass")) {
-            event.setCancelled(true);
-            player.sendMessage(ChatColor.RED + "Commands are blocked during server connection attempts.");
-            plugin.getMetricsCollector().incrementCounter("blocked_commands");
+            // Remove player from queue
+            if (plugin.getQueueManager().isPlayerFrozen(player)) {
+                plugin.getQueueManager().removeFromQueue(player);
+                plugin.logMessage(player.getName() + " left the server and was removed from queue", LogLevel.FINE);
+            }
+
+            // Cancel any remaining connection attempts
+            if (plugin.getConnectionHandler().hasOngoingConnectionAttempt(playerId)) {
+                plugin.getConnectionHandler().cancelConnectionAttempt(playerId);
+                plugin.logMessage(player.getName() + " left during connection attempt", LogLevel.FINE);
+            }
+
+            // Drop visibility state and pending visibility work
+            plugin.getVisibilityManager().forget(playerId);
+
+            // Free the connection slot of the player's address
+            plugin.getAdmissionGate().release(playerId);
+        } finally {
+            quitProbe.stop(start);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,180 @@
+package shamboo.shamboq.event;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.queue.QueueSession;
+import shamboo.shamboq.util.Counter;
+import shamboo.shamboq.util.TickProfiler;
+
+/**
+ * Class blocking actions of restricted players (frozen in queue or connecting to the SMP server).
+ * Registered only while at least one player is restricted, every handler does a single session lookup
+ */
+public class RestrictionListener implements Listener {
+    private final ShamboQ plugin;
+    private final TickProfiler.Probe probe;
+    private final Counter blockedMoves;
+    private final Counter blockedTeleports;
+    private final Counter blockedInteractions;
+    private final Counter blockedBreaks;
+    private final Counter blockedPlaces;
+    private final Counter blockedCommands;
+    private boolean registered;
+
+    public RestrictionListener(ShamboQ plugin) {
+        this.plugin = plugin;
+        this.probe = plugin.getTickProfiler().probe("restrictions");
+        this.blockedMoves = plugin.getMetricsCollector().counter("blocked_moves");
+        this.blockedTeleports = plugin.getMetricsCollector().counter("blocked_teleports");
+        this.blockedInteractions = plugin.getMetricsCollector().counter("blocked_interactions");
+        this.blockedBreaks = plugin.getMetricsCollector().counter("blocked_breaks");
+        this.blockedPlaces = plugin.getMetricsCollector().counter("blocked_places");
+        this.blockedCommands = plugin.getMetricsCollector().counter("blocked_commands");
+    }
+
+    /**
+     * Registers the handlers when the first player becomes restricted and unregisters them when the last one leaves.
+     * Must be called on the main thread
+     */
+    public void update() {
+        boolean needed = plugin.getQueueManager().hasRestrictedPlayers();
+        if (needed && !registered) {
+            plugin.getServer().getPluginManager().registerEvents(this, plugin);
+            registered = true;
+            plugin.getMetricsCollector().incrementCounter("restriction_listener_registrations");
+        } else if (!needed && registered) {
+            HandlerList.unregisterAll(this);
+            registered = false;
+        }
+    }
+
+    /**
+     * Unregisters the handlers regardless of restricted players
+     */
+    public void stop() {
+        if (registered) {
+            HandlerList.unregisterAll(this);
+            registered = false;
+        }
+    }
+
+    public boolean isRegistered() {
+        return registered;
+    }
+
+    // Block movement for restricted players
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        long start = probe.start();
+        try {
+            // Looking around is allowed - skip pure head rotation before any lookup
+            Location from = event.getFrom();
+            Location to = event.getTo();
+            if (to == null || (from.getX() == to.getX() && from.getY() == to.getY() && from.getZ() == to.getZ())) {
+                return;
+            }
+
+            if (plugin.getQueueManager().isRestricted(event.getPlayer().getUniqueId())) {
+                // Player tries to move - cancel movement
+                event.setCancelled(true);
+
+                // Track blocked moves
+                blockedMoves.increment();
+            }
+        } finally {
+            probe.stop(start);
+        }
+    }
+
+    // Block teleportation for restricted players
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        long start = probe.start();
+        try {
+            // Teleportation initiated by this plugin is allowed
+            if (event.getCause() == PlayerTeleportEvent.TeleportCause.PLUGIN) {
+                return;
+            }
+
+            if (plugin.getQueueManager().isRestricted(event.getPlayer().getUniqueId())) {
+                event.setCancelled(true);
+                blockedTeleports.increment();
+            }
+        } finally {
+            probe.stop(start);
+        }
+    }
+
+    // Block interaction with blocks
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onPlayerInteract(PlayerInteractEvent event) {
+        long start = probe.start();
+        try {
+            if (plugin.getQueueManager().isRestricted(event.getPlayer().getUniqueId())) {
+                event.setCancelled(true);
+                blockedInteractions.increment();
+            }
+        } finally {
+            probe.stop(start);
+        }
+    }
+
+    // Block breaking blocks
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onBlockBreak(BlockBreakEvent event) {
+        long start = probe.start();
+        try {
+            if (plugin.getQueueManager().isRestricted(event.getPlayer().getUniqueId())) {
+                event.setCancelled(true);
+                blockedBreaks.increment();
+            }
+        } finally {
+            probe.stop(start);
+        }
+    }
+
+    // Block placing blocks
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        long start = probe.start();
+        try {
+            if (plugin.getQueueManager().isRestricted(event.getPlayer().getUniqueId())) {
+                event.setCancelled(true);
+                blockedPlaces.increment();
+            }
+        } finally {
+            probe.stop(start);
+        }
+    }
+
+    // Block player commands during connection attempts
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onPlayerCommand(PlayerCommandPreprocessEvent event) {
+        long start = probe.start();
+        try {
+            Player player = event.getPlayer();
+            QueueSession session = plugin.getQueueManager().getSession(player.getUniqueId());
+
+            // Block commands during connection attempts (except for admins)
+            if (session != null && session.isConnecting() && !player.hasPermission("shamboq.bypass")) {
+                event.setCancelled(true);
+                player.sendMessage(ChatColor.RED + "Commands are blocked during server connection attempts.");
+                blockedCommands.increment();
+            }
+        } finally {
+            probe.stop(start);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package shamboo.shamboq.manager;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.util.Counter;
+import shamboo.shamboq.util.LogLevel;
+import shamboo.shamboq.util.TickProfiler;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Class keeping the queue world within its chunk budget.
+ * The chunks nearest to spawn form an allowed set (bitmap around the spawn chunk), every chunk
+ * loaded outside of it is queued from the chunk events and unloaded a few per tick while players are in queue.
+ * Chunks in a player's view and chunks that refuse to unload (spawn chunks, plugin tickets) are not counted against
+ * the budget - they are dropped from the queue until their next load
+ */
+public class ChunkGovernor implements Listener {
+    private final ShamboQ plugin;
+    private final TickProfiler.Probe eventProbe;
+    private final TickProfiler.Probe unloadProbe;
+    private final Counter chunksUnloaded;
+    private final Counter chunksKept;
+
+    // Allowed set - bit per chunk of the (2 * radius + 1)^2 square around spawn
+    private final BitSet allowed = new BitSet();
+    private int radius;
+    private int spawnChunkX;
+    private int spawnChunkZ;
+    private World world;
+
+    // Loaded chunks outside the allowed set, in load order
+    private final Set<Long> overBudget = new LinkedHashSet<>();
+    private int loadedChunks;
+    private BukkitTask unloadTask;
+    private boolean registered;
+
+    public ChunkGovernor(ShamboQ plugin) {
+        this.plugin = plugin;
+        this.eventProbe = plugin.getTickProfiler().probe("chunk_events");
+        this.unloadProbe = plugin.getTickProfiler().probe("chunk_unloads");
+        this.chunksUnloaded = plugin.getMetricsCollector().counter("chunks_unloaded");
+        this.chunksKept = plugin.getMetricsCollector().counter("chunks_kept_loaded");
+    }
+
+    /**
+     * Builds the allowed set, counts the chunks loaded right now and starts listening to chunk events.
+     * This is the only full scan of loaded chunks
+     */
+    public void start() {
+        stop();
+        if (!plugin.getOptimizationConfig().isOptimizeChunks()) {
+            return;
+        }
+
+        world = plugin.getConfigManager().getEndWorld();
+        Location spawn = plugin.getConfigManager().createSpawnLocation();
+        spawnChunkX = spawn.getBlockX() >> 4;
+        spawnChunkZ = spawn.getBlockZ() >> 4;
+
+        // Aggressive management keeps the configured number of chunks, otherwise the 3x3 area around spawn
+        int budget = plugin.getOptimizationConfig().isAggressiveChunkManagement()
+                ? plugin.getOptimizationConfig().getMaxLoadedChunks() : 9;
+        buildAllowedSet(budget);
+
+        for (Chunk chunk : world.getLoadedChunks()) {
+            trackLoad(chunk.getX(), chunk.getZ());
+        }
+
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        registered = true;
+        resume();
+
+        plugin.logMessage("Chunk governor started: budget " + budget + " chunks, " + loadedChunks +
+                " loaded, " + overBudget.size() + " over budget", LogLevel.INFO);
+    }
+
+    /**
+     * Stops listening and forgets all tracked chunks
+     */
+    public void stop() {
+        if (registered) {
+            HandlerList.unregisterAll(this);
+            registered = false;
+        }
+        stopTask();
+        overBudget.clear();
+        loadedChunks = 0;
+        world = null;
+    }
+
+    /**
+     * Starts unloading queued chunks again, called when a player enters the queue
+     */
+    public void resume() {
+        if (unloadTask != null || overBudget.isEmpty() || world == null) {
+            return;
+        }
+
+        unloadTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                long start = unloadProbe.start();
+                try {
+                    unloadOverBudget();
+                } finally {
+                    unloadProbe.stop(start);
+                }
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        long start = eventProbe.start();
+        try {
+            if (event.getWorld() != world) {
+                return;
+            }
+
+            Chunk chunk = event.getChunk();
+            if (trackLoad(chunk.getX(), chunk.getZ())) {
+                resume();
+            }
+        } finally {
+            eventProbe.stop(start);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        long start = eventProbe.start();
+        try {
+            if (event.getWorld() != world) {
+                return;
+            }
+
+            Chunk chunk = event.getChunk();
+            loadedChunks--;
+            overBudget.remove(chunkKey(chunk.getX(), chunk.getZ()));
+            plugin.getMetricsCollector().setGauge("queue_world_loaded_chunks", loadedChunks);
+        } finally {
+            eventProbe.stop(start);
+        }
+    }
+
+    /**
+     * Counts a loaded chunk and queues it for unloading if it is outside the allowed set
+     * @return Whether the chunk is over budget
+     */
+    private boolean trackLoad(int x, int z) {
+        loadedChunks++;
+        plugin.getMetricsCollector().setGauge("queue_world_loaded_chunks", loadedChunks);
+        if (isAllowed(x, z)) {
+            return false;
+        }
+        overBudget.add(chunkKey(x, z));
+        return true;
+    }
+
+    private void unloadOverBudget() {
+        // Nothing to protect while nobody is in queue
+        if (overBudget.isEmpty() || !plugin.getQueueManager().hasRestrictedPlayers()) {
+            stopTask();
+            return;
+        }
+
+        int limit = plugin.getOptimizationConfig().getChunkUnloadsPerTick();
+        int unloaded = 0;
+        int kept = 0;
+        int attempts = 0;
+        while (unloaded < limit && attempts < limit * 4 && !overBudget.isEmpty()) {
+            // Take the head again every time - the unload event modifies the set
+            long key = overBudget.iterator().next();
+            overBudget.remove(key);
+            attempts++;
+
+            int x = (int) (key >> 32);
+            int z = (int) key;
+            if (!world.isChunkLoaded(x, z)) {
+                continue;
+            }
+            // A player's view or a ticket keeps the chunk loaded - it is queued again on its next load
+            if (world.isChunkInUse(x, z) || !world.unloadChunk(x, z, true)) {
+                kept++;
+                continue;
+            }
+            unloaded++;
+        }
+
+        if (unloaded > 0) {
+            chunksUnloaded.add(unloaded);
+        }
+        if (kept > 0) {
+            chunksKept.add(kept);
+        }
+    }
+
+    private void stopTask() {
+        if (unloadTask != null) {
+            unloadTask.cancel();
+            unloadTask = null;
+        }
+    }
+
+    /**
+     * Marks the given number of chunks nearest to the spawn chunk as allowed
+     */
+    private void buildAllowedSet(int budget) {
+        allowed.clear();
+        radius = 0;
+        while ((2 * radius + 1) * (2 * radius + 1) < budget) {
+            radius++;
+        }
+
+        int side = 2 * radius + 1;
+        List<int[]> offsets = new ArrayList<>(side * side);
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                offsets.add(new int[]{dx, dz});
+            }
+        }
+        offsets.sort((a, b) -> Integer.compare(a[0] * a[0] + a[1] * a[1], b[0] * b[0] + b[1] * b[1]));
+
+        for (int i = 0; i < budget; i++) {
+            int[] offset = offsets.get(i);
+            allowed.set((offset[0] + radius) * side + (offset[1] + radius));
+        }
+    }
+
+    private boolean isAllowed(int x, int z) {
+        int dx = x - spawnChunkX;
+        int dz = z - spawnChunkZ;
+        if (Math.abs(dx) > radius || Math.abs(dz) > radius) {
+            return false;
+        }
+        return allowed.get((dx + radius) * (2 * radius + 1) + (dz + radius));
+    }
+
+    private static long chunkKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Number of chunks loaded in the queue world
+     */
+    public int getLoadedChunks() {
+        return loadedChunks;
+    }
+
+    public int getOverBudgetChunks() {
+        return overBudget.size();
+    }
+}
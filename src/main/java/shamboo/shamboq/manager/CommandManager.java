@@ -7,6 +7,7 @@ import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import shamboo.shamboq.ShamboQ;
 import shamboo.shamboq.command.*;
+import shamboo.shamboq.util.Counter;
 
 import java.util.*;
 import java.util.concurrent.TimeUnit;
@@ -17,12 +18,15 @@ import java.util.concurrent.TimeUnit;
 public class CommandManager implements CommandExecutor, TabCompleter {
     private final ShamboQ plugin;
     private final Map<String, shamboo.shamboq.command.Command> subCommands = new HashMap<>();
+    private final Map<String, Counter> subCommandCounters = new HashMap<>();
+    private final Counter commandUses;
 
     // Command rate limiting
     private final Map<UUID, Map<String, Long>> commandCooldowns = new HashMap<>();
 
     public CommandManager(ShamboQ plugin) {
         this.plugin = plugin;
+        this.commandUses = plugin.getMetricsCollector().counter("command_uses");
         registerSubCommands();
     }
 
@@ -34,7 +38,14 @@ public class CommandManager implements CommandExecutor, TabCompleter {
         subCommands.put("send", new SendCommand(plugin));
         subCommands.put("reload", new ReloadCommand(plugin));
         subCommands.put("status", new StatusCommand(plugin));
+        subCommands.put("rates", new RatesCommand(plugin));
+        subCommands.put("profile", new ProfileCommand(plugin));
         subCommands.put("help", new HelpCommand(plugin));
+
+        // Usage counter handle per subcommand
+        for (String name : subCommands.keySet()) {
+            subCommandCounters.put(name, plugin.getMetricsCollector().counter("command_" + name));
+        }
     }
 
     @Override
@@ -55,7 +66,7 @@ public class CommandManager implements CommandExecutor, TabCompleter {
             }
 
             // Track command usage
-            plugin.getMetricsCollector().incrementCounter("command_uses");
+            commandUses.increment();
 
             // No arguments - show help
             if (args.length == 0) {
@@ -67,7 +78,7 @@ public class CommandManager implements CommandExecutor, TabCompleter {
             String subCommandName = args[0].toLowerCase();
             if (subCommands.containsKey(subCommandName)) {
                 // Track specific command usage
-                plugin.getMetricsCollector().incrementCounter("command_" + subCommandName);
+                subCommandCounters.get(subCommandName).increment();
 
                 return subCommands.get(subCommandName).execute(sender,
                         Arrays.copyOfRange(args, 1, args.length));
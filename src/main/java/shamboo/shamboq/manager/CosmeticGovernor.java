@@ -0,0 +1,221 @@
+package shamboo.shamboq.manager;
+
+import org.bukkit.Server;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.config.OptimizationConfig;
+import shamboo.shamboq.util.Counter;
+import shamboo.shamboq.util.LogLevel;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Class stepping down cosmetic queue work (sounds, action bars, titles) when the tick time climbs.
+ * Uses Paper's average tick time when available. Elsewhere only the interval between ticks can be
+ * measured, which stays at 50ms however busy a healthy tick is - the time ticks run late past 50ms is used instead.
+ * A level is left only after the tick time drops below its threshold minus the hysteresis
+ */
+public class CosmeticGovernor {
+    /**
+     * Degradation levels, in order
+     */
+    public enum Level {
+        // Everything is sent
+        NORMAL,
+        // Countdown sounds only every few seconds
+        REDUCED_SOUNDS,
+        // Countdown action bars only every throttled-action-bar-interval seconds
+        THROTTLED_ACTION_BARS,
+        // No sounds, titles or countdown action bars
+        NO_COSMETICS
+    }
+
+    // Seconds between countdown sounds at reduced levels
+    private static final int REDUCED_SOUND_INTERVAL = 3;
+    // Weight of a new tick interval in the self-measured average
+    private static final double INTERVAL_WEIGHT = 0.05;
+    // Interval between ticks of a server keeping up with 20 TPS
+    private static final double TICK_INTERVAL_MILLIS = 50.0;
+
+    private final ShamboQ plugin;
+    private final Counter levelChanges;
+    private MethodHandle averageTickTime;
+    private BukkitTask evaluateTask;
+    private BukkitTask measureTask;
+    private volatile Level level = Level.NORMAL;
+    private double mspt;
+
+    // Self-measured fallback
+    private long lastTickNanos;
+    private double averageIntervalMillis = TICK_INTERVAL_MILLIS;
+
+    public CosmeticGovernor(ShamboQ plugin) {
+        this.plugin = plugin;
+        this.levelChanges = plugin.getMetricsCollector().counter("cosmetic_level_changes");
+        plugin.getMetricsCollector().setGauge("cosmetic_level", Level.NORMAL.ordinal());
+    }
+
+    /**
+     * Starts watching the tick time if the governor is enabled
+     */
+    public void start() {
+        stop();
+        if (!plugin.getOptimizationConfig().isCosmeticGovernor()) {
+            return;
+        }
+
+        averageTickTime = bindAverageTickTime();
+        if (averageTickTime == null) {
+            // Measure the interval between two runs of a 1 tick task
+            lastTickNanos = System.nanoTime();
+            averageIntervalMillis = TICK_INTERVAL_MILLIS;
+            measureTask = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    long now = System.nanoTime();
+                    double interval = (now - lastTickNanos) / 1_000_000.0;
+                    lastTickNanos = now;
+                    averageIntervalMillis += INTERVAL_WEIGHT * (interval - averageIntervalMillis);
+                }
+            }.runTaskTimer(plugin, 1L, 1L);
+        }
+
+        evaluateTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                evaluate();
+            }
+        }.runTaskTimer(plugin, 20L, 20L);
+
+        plugin.logMessage("Cosmetic governor started (" +
+                (averageTickTime != null ? "server tick time" : "measured tick lag") + ")", LogLevel.FINE);
+    }
+
+    /**
+     * Stops watching and restores all cosmetics
+     */
+    public void stop() {
+        if (evaluateTask != null) {
+            evaluateTask.cancel();
+            evaluateTask = null;
+        }
+        if (measureTask != null) {
+            measureTask.cancel();
+            measureTask = null;
+        }
+        setLevel(Level.NORMAL);
+    }
+
+    private MethodHandle bindAverageTickTime() {
+        if (!plugin.getVersionManager().getCapabilities().hasServerAverageTickTime()) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup()
+                    .findVirtual(Server.class, "getAverageTickTime", MethodType.methodType(double.class))
+                    .bindTo(plugin.getServer());
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private void evaluate() {
+        mspt = readTickTime();
+        plugin.getMetricsCollector().setGauge("mspt_x100", Math.round(mspt * 100));
+
+        OptimizationConfig config = plugin.getOptimizationConfig();
+        double[] thresholds = {
+                config.getMsptReduceSounds(),
+                config.getMsptThrottleActionBars(),
+                config.getMsptDisableCosmetics()
+        };
+
+        // Step up as far as the tick time requires, step down one level at a time below the hysteresis band
+        int current = level.ordinal();
+        int next = current;
+        while (next < thresholds.length && mspt >= thresholds[next]) {
+            next++;
+        }
+        if (next == current && current > 0 && mspt < thresholds[current - 1] - config.getMsptHysteresis()) {
+            next = current - 1;
+        }
+        setLevel(Level.values()[next]);
+    }
+
+    private double readTickTime() {
+        if (averageTickTime != null) {
+            try {
+                return (double) averageTickTime.invokeExact();
+            } catch (Throwable t) {
+                plugin.logMessage("Failed to read average tick time, measuring tick lag instead", LogLevel.WARNING);
+                averageTickTime = null;
+            }
+        }
+        // Without the server's tick time, idle and busy healthy ticks look the same - only lag is visible
+        return Math.max(0.0, averageIntervalMillis - TICK_INTERVAL_MILLIS);
+    }
+
+    private void setLevel(Level next) {
+        if (next == level) {
+            return;
+        }
+
+        plugin.logMessage("Cosmetic level " + level + " -> " + next +
+                String.format(" (%.1f ms/tick)", mspt), LogLevel.INFO);
+        level = next;
+        levelChanges.increment();
+        plugin.getMetricsCollector().setGauge("cosmetic_level", next.ordinal());
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Last tick time used to pick the level, in milliseconds.
+     * Without Paper this is how far ticks run late past 50ms
+     */
+    public double getMspt() {
+        return mspt;
+    }
+
+    /**
+     * Whether a countdown sound should be played
+     * @param secondsLeft Seconds left in the countdown, 0 for one-off sounds
+     */
+    public boolean allowSound(int secondsLeft) {
+        switch (level) {
+            case NORMAL:
+                return true;
+            case NO_COSMETICS:
+                return false;
+            default:
+                return secondsLeft % REDUCED_SOUND_INTERVAL == 0;
+        }
+    }
+
+    /**
+     * Whether a countdown or position action bar should be sent
+     * @param second Seconds left in the countdown, or any value increasing once per second
+     */
+    public boolean allowActionBar(int second) {
+        switch (level) {
+            case THROTTLED_ACTION_BARS:
+                return second % plugin.getOptimizationConfig().getThrottledActionBarInterval() == 0;
+            case NO_COSMETICS:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Whether welcome titles should be shown
+     */
+    public boolean allowTitles() {
+        return level != Level.NO_COSMETICS;
+    }
+}
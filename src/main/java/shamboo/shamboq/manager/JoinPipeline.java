@@ -0,0 +1,142 @@
+package shamboo.shamboq.manager;
+
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.config.OptimizationConfig;
+import shamboo.shamboq.queue.QueueSession;
+import shamboo.shamboq.queue.QueueSession.State;
+import shamboo.shamboq.util.Counter;
+import shamboo.shamboq.util.Histogram;
+import shamboo.shamboq.util.TickProfiler;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Class spreading the expensive part of joining the queue (teleport, game mode, view distance, welcome)
+ * across ticks. Players are frozen by their session right away and set up in join order, at most
+ * join-setups-per-tick players and join-setup-millis-per-tick per tick. Main thread only
+ */
+public class JoinPipeline {
+    private final ShamboQ plugin;
+    private final TickProfiler.Probe probe;
+    private final Counter joinSetups;
+    // Time from joining to being set up
+    private final Histogram setupDelay;
+    // Pending setups in join order, by player
+    private final Map<UUID, Job> jobs = new LinkedHashMap<>();
+    private BukkitTask task;
+
+    public JoinPipeline(ShamboQ plugin) {
+        this.plugin = plugin;
+        this.probe = plugin.getTickProfiler().probe("join_setup");
+        this.joinSetups = plugin.getMetricsCollector().counter("join_setups");
+        this.setupDelay = plugin.getMetricsCollector().histogram("join_setup_delay_ms");
+    }
+
+    /**
+     * Queues the setup of a player whose session was just opened in JOINING state.
+     * The setup is skipped if the session leaves JOINING or the player leaves before it runs
+     */
+    public void submit(Player player, QueueSession session, BiConsumer<Player, QueueSession> setup) {
+        // A newer session replaces a pending one and goes to the back of the line
+        jobs.remove(player.getUniqueId());
+        jobs.put(player.getUniqueId(), new Job(player, session, setup));
+        ensureTaskRunning();
+    }
+
+    /**
+     * Drops the pending setup of a player
+     * @return Whether a setup was pending
+     */
+    public boolean cancel(UUID playerId) {
+        return jobs.remove(playerId) != null;
+    }
+
+    /**
+     * Number of players waiting to be set up
+     */
+    public int getPending() {
+        return jobs.size();
+    }
+
+    /**
+     * Drops all pending setups
+     */
+    public void clear() {
+        jobs.clear();
+        stopTask();
+    }
+
+    private void ensureTaskRunning() {
+        if (task != null) {
+            return;
+        }
+
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                long start = probe.start();
+                try {
+                    processJobs();
+                    if (jobs.isEmpty()) {
+                        stopTask();
+                    }
+                } finally {
+                    probe.stop(start);
+                }
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    private void stopTask() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void processJobs() {
+        OptimizationConfig config = plugin.getOptimizationConfig();
+        int limit = config.getJoinSetupsPerTick();
+        long deadline = System.nanoTime() + (long) (config.getJoinSetupMillisPerTick() * 1_000_000);
+        int done = 0;
+
+        // At least one setup per tick, so the line keeps moving even when a single setup is over budget
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (iterator.hasNext() && done < limit && (done == 0 || System.nanoTime() < deadline)) {
+            Job job = iterator.next();
+            iterator.remove();
+            if (!job.player.isOnline() || job.session.getState() != State.JOINING) {
+                continue;
+            }
+
+            job.setup.accept(job.player, job.session);
+            setupDelay.record(System.currentTimeMillis() - job.session.getCreatedTime());
+            joinSetups.increment();
+            done++;
+        }
+
+        plugin.getMetricsCollector().setGauge("join_setups_pending", jobs.size());
+    }
+
+    /**
+     * Pending setup of a single player
+     */
+    private static final class Job {
+        private final Player player;
+        private final QueueSession session;
+        private final BiConsumer<Player, QueueSession> setup;
+
+        private Job(Player player, QueueSession session, BiConsumer<Player, QueueSession> setup) {
+            this.player = player;
+            this.session = session;
+            this.setup = setup;
+        }
+    }
+}
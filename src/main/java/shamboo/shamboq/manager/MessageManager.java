@@ -15,6 +15,7 @@ import java.util.Map;
 public class MessageManager {
     private final ShamboQ plugin;
     private Map<String, String> messages = new HashMap<>();
+    private volatile int generation;
 
     public MessageManager(ShamboQ plugin) {
         this.plugin = plugin;
@@ -52,6 +53,13 @@ public class MessageManager {
         config.addDefault("messages.connection_timeout", "&cConnection timed out. Retrying in %d seconds...");
         config.addDefault("messages.max_retries_reached", "&cCould not connect after %d attempts. Please try again later.");
         config.addDefault("messages.back_in_queue", "&eYou've been placed back in the queue due to connection issues.");
+        config.addDefault("messages.release_waiting", "&eThe SMP server is busy, you will be transferred shortly...");
+        config.addDefault("messages.welcome_subtitle_capacity", "&eYou are &6#%d &ein line for the SMP server");
+        config.addDefault("messages.queue_position", "&ePosition in queue: &6%d &eof &6%d");
+        config.addDefault("messages.queue_position_approx", "&ePosition in queue: &6~%d &eof &6%d");
+        config.addDefault("messages.admission_rate_limited", "&cToo many players are joining right now. Please try again in a few seconds.");
+        config.addDefault("messages.admission_address_limit", "&cToo many connections from your address.");
+        config.addDefault("messages.admission_queue_full", "&cThe queue is full. Please try again later.");
 
         config.options().copyDefaults(true);
         plugin.saveConfig();
@@ -65,6 +73,9 @@ public class MessageManager {
             }
         }
 
+        // Let caches of rendered messages know they are stale
+        generation++;
+
         plugin.logMessage("Loaded " + messages.size() + " messages", LogLevel.FINE);
     }
 
@@ -76,6 +87,13 @@ public class MessageManager {
         return String.format(getMessage(key), args);
     }
 
+    /**
+     * Generation of the loaded messages, changes on every reload
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
     public void reload() {
         loadMessages();
     }
@@ -7,32 +7,189 @@ import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.config.ConfigManager.QueueMode;
+import shamboo.shamboq.connection.ReleaseGate;
+import shamboo.shamboq.queue.CapacityQueue;
+import shamboo.shamboq.queue.CountdownEngine;
+import shamboo.shamboq.queue.CountdownListener;
+import shamboo.shamboq.queue.CountdownRenderer;
+import shamboo.shamboq.queue.QueueScheduler;
+import shamboo.shamboq.queue.QueueProfile;
+import shamboo.shamboq.queue.QueueSession;
+import shamboo.shamboq.queue.QueueSession.State;
+import shamboo.shamboq.queue.QueueTicket;
+import shamboo.shamboq.queue.ScheduledCountdownEngine;
+import shamboo.shamboq.queue.VirtualThreadCountdownEngine;
+import shamboo.shamboq.util.Counter;
+import shamboo.shamboq.util.Histogram;
 import shamboo.shamboq.util.LogLevel;
+import shamboo.shamboq.util.PlayerTickHandles;
+import shamboo.shamboq.util.TickProfiler;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Class managing player queue
  */
-public class QueueManager {
+public class QueueManager implements CountdownListener {
     private final ShamboQ plugin;
-    private final Set<UUID> frozenPlayers = ConcurrentHashMap.newKeySet();
-    private final Map<Player, BukkitTask> playerTasks = new WeakHashMap<>();
-    private final Map<UUID, Integer> originalViewDistances = new HashMap<>();
-    private final Map<UUID, GameMode> originalGameModes = new HashMap<>();
+    private final TickProfiler.Probe notificationProbe;
+    private final Counter playersQueued;
+    private final Counter ticksPaused;
+    private final Counter ticksResumed;
+    private final Counter playersFrozen;
+    private final Counter playersUnqueued;
+    // Time from entering the queue to being sent to the SMP server
+    private final Histogram queueWait;
+
+    // Queue and connection state of every player handled by the plugin
+    private final Map<UUID, QueueSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong ticketSequence = new AtomicLong();
+    private final CountdownEngine countdownEngine;
+    private final CountdownRenderer countdownRenderer;
+    private final ReleaseGate releaseGate;
+    private final CapacityQueue capacityQueue;
+    private final JoinPipeline joinPipeline;
     private BukkitTask notificationTask;
-    private BukkitTask chunkLimitTask;
 
     public QueueManager(ShamboQ plugin) {
         this.plugin = plugin;
+        this.notificationProbe = plugin.getTickProfiler().probe("notifications");
+        this.playersQueued = plugin.getMetricsCollector().counter("players_queued");
+        this.ticksPaused = plugin.getMetricsCollector().counter("ticks_paused");
+        this.ticksResumed = plugin.getMetricsCollector().counter("ticks_resumed");
+        this.playersFrozen = plugin.getMetricsCollector().counter("players_frozen");
+        this.playersUnqueued = plugin.getMetricsCollector().counter("players_unqueued");
+        this.queueWait = plugin.getMetricsCollector().histogram("join_to_release_ms");
+        this.countdownEngine = createCountdownEngine();
+        this.countdownRenderer = new CountdownRenderer(plugin);
+        this.releaseGate = new ReleaseGate(plugin, this::releasePlayer);
+        this.capacityQueue = new CapacityQueue(plugin, this::admitPlayer);
+        this.joinPipeline = new JoinPipeline(plugin);
+
+        if (plugin.getOptimizationConfig().isDisablePlayerTicks()) {
+            bindTickHandles();
+        }
+    }
+
+    /**
+     * Selects the countdown engine - dedicated thread pool if enabled, otherwise the main-thread scheduler
+     */
+    private CountdownEngine createCountdownEngine() {
+        ExecutorService threadPool = plugin.getQueueThreadPool();
+        if (plugin.getOptimizationConfig().isDedicatedThreadPool() && threadPool != null) {
+            if (threadPool instanceof ScheduledExecutorService) {
+                return new ScheduledCountdownEngine(plugin, this, (ScheduledExecutorService) threadPool);
+            }
+            return new VirtualThreadCountdownEngine(plugin, this, threadPool);
+        }
+        return new QueueScheduler(plugin, this);
     }
 
     public boolean isPlayerFrozen(Player player) {
-        return frozenPlayers.contains(player.getUniqueId());
+        QueueSession session = sessions.get(player.getUniqueId());
+        return session != null && session.isQueued();
+    }
+
+    /**
+     * Whether a player is frozen in queue or connecting to the SMP server - a single map lookup
+     */
+    public boolean isRestricted(UUID playerId) {
+        return sessions.containsKey(playerId);
+    }
+
+    /**
+     * Whether any player is frozen in queue or connecting to the SMP server
+     */
+    public boolean hasRestrictedPlayers() {
+        return !sessions.isEmpty();
+    }
+
+    /**
+     * Session of a player, or null if the player is not handled by the plugin
+     */
+    public QueueSession getSession(UUID playerId) {
+        return sessions.get(playerId);
+    }
+
+    /**
+     * Live view of all sessions
+     */
+    public Collection<QueueSession> getSessions() {
+        return sessions.values();
+    }
+
+    /**
+     * Starts a new session for a player, ending any previous one
+     * @param ticket Place in the queue, or null for players sent without queueing
+     */
+    public QueueSession openSession(Player player, QueueTicket ticket, State initialState) {
+        QueueSession session = new QueueSession(player.getUniqueId(), ticket, initialState);
+        QueueSession previous = sessions.put(player.getUniqueId(), session);
+        if (previous != null) {
+            previous.finish();
+        } else {
+            updateRestrictionListener();
+        }
+        return session;
+    }
+
+    /**
+     * Ends and forgets the session of a player
+     * @return The ended session, or null if there was none
+     */
+    public QueueSession closeSession(UUID playerId) {
+        QueueSession session = sessions.remove(playerId);
+        if (session != null) {
+            session.finish();
+            updateRestrictionListener();
+        }
+        return session;
+    }
+
+    /**
+     * Creates a queue ticket for a player joining now
+     */
+    private QueueTicket createTicket(QueueProfile profile) {
+        int tier = profile.priorityTier();
+        long headStart = TimeUnit.SECONDS.toNanos(plugin.getConfigManager().getPriorityHeadStart());
+        return new QueueTicket(profile.playerId(), tier,
+                System.nanoTime() - tier * headStart, ticketSequence.getAndIncrement());
+    }
+
+    /**
+     * Countdown of a player in timer mode - the queue time minus the head start of their priority tier
+     */
+    private int getCountdownSeconds(QueueTicket ticket) {
+        int headStart = ticket.tier() * plugin.getConfigManager().getPriorityHeadStart();
+        return Math.max(0, plugin.getConfigManager().getQueueTime() - headStart);
+    }
+
+    /**
+     * Resolves the queue profile of a player from their current permissions. Main thread
+     */
+    public QueueProfile resolveProfile(Player player) {
+        boolean bypass = player.hasPermission("shamboq.bypass");
+        int tier = bypass ? 0 : getPriorityTier(player);
+        return new QueueProfile(player.getUniqueId(), bypass, tier);
+    }
+
+    /**
+     * Highest priority tier granted by a shamboq.priority.<n> permission, 0 for normal players
+     */
+    public int getPriorityTier(Player player) {
+        for (int tier = plugin.getConfigManager().getPriorityTiers(); tier > 0; tier--) {
+            if (player.hasPermission("shamboq.priority." + tier)) {
+                return tier;
+            }
+        }
+        return 0;
     }
 
     /**
@@ -91,89 +248,38 @@ public class QueueManager {
     }
 
     /**
-     * Aggressive chunk management with distance limit
+     * Adds player to queue with full process (welcome, countdown, sounds).
+     * The player is frozen right away, the rest runs through the join pipeline
      */
-    public void enforceChunkLimit() {
-        if (!plugin.getOptimizationConfig().isOptimizeChunks() || !plugin.getOptimizationConfig().isAggressiveChunkManagement()) {
-            return;
-        }
-
-        World world = plugin.getConfigManager().getEndWorld();
-        int maxChunks = plugin.getOptimizationConfig().getMaxLoadedChunks();
-
-        // Get list of all loaded chunks
-        Chunk[] loadedChunks = world.getLoadedChunks();
-
-        if (loadedChunks.length > maxChunks) {
-            plugin.logMessage("Enforcing chunk limit: " + loadedChunks.length + " -> " + maxChunks, LogLevel.FINE);
-
-            // Find chunks furthest from spawn
-            Location spawnLoc = plugin.getConfigManager().createSpawnLocation();
-            int spawnChunkX = spawnLoc.getBlockX() >> 4;
-            int spawnChunkZ = spawnLoc.getBlockZ() >> 4;
-
-            // Sort chunks by distance from spawn
-            Arrays.sort(loadedChunks, (c1, c2) -> {
-                double d1 = Math.pow(c1.getX() - spawnChunkX, 2) + Math.pow(c1.getZ() - spawnChunkZ, 2);
-                double d2 = Math.pow(c2.getX() - spawnChunkX, 2) + Math.pow(c2.getZ() - spawnChunkZ, 2);
-                return Double.compare(d1, d2);
-            });
-
-            // Unload all chunks above limit
-            for (int i = maxChunks; i < loadedChunks.length; i++) {
-                loadedChunks[i].unload(true);
-            }
-
-            plugin.logMessage("Unloaded " + (loadedChunks.length - maxChunks) + " extra chunks", LogLevel.FINE);
-
-            // Track chunk unloads
-            plugin.getMetricsCollector().incrementCounter("chunks_unloaded", loadedChunks.length - maxChunks);
-        }
+    public void addToQueue(Player player) {
+        addToQueue(player, resolveProfile(player));
     }
 
     /**
-     * Unloads unnecessary chunks, optimizing server resources
+     * Adds a joining player to queue with the profile resolved at join
      */
-    private void unloadUnnecessaryChunks(Location spawnLocation) {
-        if (!plugin.getOptimizationConfig().isOptimizeChunks()) {
-            return;
-        }
-
-        World world = spawnLocation.getWorld();
-        if (world == null) return;
-
-        int spawnChunkX = spawnLocation.getBlockX() >> 4;
-        int spawnChunkZ = spawnLocation.getBlockZ() >> 4;
+    public void addToQueue(Player player, QueueProfile profile) {
+        // Add player to frozen list - restrictions apply from here on
+        QueueTicket ticket = createTicket(profile);
+        QueueSession session = openSession(player, ticket, State.JOINING);
 
-        int unloadedCount = 0;
-        // Keep only chunks within distance 1 from spawn
-        for (Chunk chunk : world.getLoadedChunks()) {
-            if (Math.abs(chunk.getX() - spawnChunkX) > 1 ||
-                    Math.abs(chunk.getZ() - spawnChunkZ) > 1) {
-                chunk.unload(true);
-                unloadedCount++;
-            }
-        }
-
-        plugin.logMessage("Unloaded " + unloadedCount + " unnecessary chunks around spawn", LogLevel.FINE);
+        // Hide player from others and others from this player
+        hidePlayerFromOthers(player);
 
-        // Track chunk unloads
-        plugin.getMetricsCollector().incrementCounter("chunks_unloaded", unloadedCount);
+        // Teleport, optimizations and welcome under the per-tick join budget
+        joinPipeline.submit(player, session, this::completeQueueJoin);
     }
 
     /**
-     * Adds player to queue with full process (welcome, countdown, sounds)
+     * Second stage of addToQueue, run by the join pipeline
      */
-    public void addToQueue(Player player) {
-        final UUID playerId = player.getUniqueId();
-
-        // Add player to frozen list
-        frozenPlayers.add(playerId);
+    private void completeQueueJoin(Player player, QueueSession session) {
+        QueueTicket ticket = session.getTicket();
 
         // Optimization - spectator mode for players in queue
         if (plugin.getOptimizationConfig().isSpectatorMode()) {
             // Save original game mode
-            originalGameModes.put(playerId, player.getGameMode());
+            session.setOriginalGameMode(player.getGameMode());
             // Set spectator mode, which significantly reduces resource usage
             player.setGameMode(GameMode.SPECTATOR);
         }
@@ -182,95 +288,87 @@ public class QueueManager {
         Location spawnLocation = plugin.getConfigManager().createSpawnLocation();
         player.teleport(spawnLocation);
 
-        // Optimization - unload unnecessary chunks
-        if (plugin.getOptimizationConfig().isOptimizeChunks()) {
-            unloadUnnecessaryChunks(spawnLocation);
-
-            // Aggressive chunk management
-            if (plugin.getOptimizationConfig().isAggressiveChunkManagement()) {
-                enforceChunkLimit();
-            }
-        }
+        // Optimization - unload chunks outside the budget around spawn
+        plugin.getChunkGovernor().resume();
 
         // Optimization - disable player ticking
         if (plugin.getOptimizationConfig().isDisablePlayerTicks()) {
             pausePlayerTicking(player);
         }
 
-        // Hide player from others and others from this player
-        hidePlayerFromOthers(player);
-
         // Optimization - reduce view distance for player in queue
         if (plugin.getOptimizationConfig().isReduceViewDistance()) {
             // Save original view distance and set low one
-            originalViewDistances.put(playerId, getPlayerViewDistance(player));
+            session.setOriginalViewDistance(getPlayerViewDistance(player));
             setReducedViewDistance(player);
         }
 
-        // Display welcome message
-        int queueTime = plugin.getConfigManager().getQueueTime();
-        player.sendTitle(
-                plugin.getMessageManager().getMessage("welcome_title"),
-                plugin.getMessageManager().getMessage("welcome_subtitle", queueTime),
-                10, 70, 20
-        );
+        // Setup done, the player is waiting now
+        session.transition(State.JOINING, State.WAITING);
+
+        // Display welcome message, skipped while the server is overloaded
+        CosmeticGovernor cosmetics = plugin.getCosmeticGovernor();
+        if (plugin.getConfigManager().getQueueMode() == QueueMode.CAPACITY) {
+            // Wait in line for a free slot on the SMP server
+            int position = capacityQueue.add(ticket);
+            if (cosmetics.allowTitles()) {
+                player.sendTitle(
+                        plugin.getMessageManager().getMessage("welcome_title"),
+                        plugin.getMessageManager().getMessage("welcome_subtitle_capacity", position),
+                        10, 70, 20
+                );
+            }
+        } else {
+            int queueTime = getCountdownSeconds(ticket);
+            if (cosmetics.allowTitles()) {
+                player.sendTitle(
+                        plugin.getMessageManager().getMessage("welcome_title"),
+                        plugin.getMessageManager().getMessage("welcome_subtitle", queueTime),
+                        10, 70, 20
+                );
+            }
 
-        // Play welcome sound
-        plugin.getSoundManager().playRandomSound(player);
+            // Start task for player (combined countdown and sounds)
+            startPlayerTask(player, queueTime);
+        }
 
-        // Start task for player (combined countdown and sounds)
-        startPlayerTask(player);
-        plugin.logMessage("Added player " + player.getName() + " to queue", LogLevel.INFO);
+        // Play welcome sound
+        if (cosmetics.allowSound(0)) {
+            plugin.getSoundManager().playRandomSound(player);
+        }
+        plugin.logMessage("Added player " + player.getName() + " to queue" +
+                (ticket.tier() > 0 ? " (priority " + ticket.tier() + ")" : ""), LogLevel.INFO);
 
         // Track queue adds
-        plugin.getMetricsCollector().incrementCounter("players_queued");
+        playersQueued.increment();
     }
 
     /**
-     * Stops player ticking, significantly reducing CPU usage
+     * Resolves the tick pausing handles once, so joins never probe server internals
      */
-    private void pausePlayerTicking(Player player) {
+    private void bindTickHandles() {
+        String playerClassName = Bukkit.getServer().getClass().getPackage().getName() + ".entity.CraftPlayer";
         try {
-            // Use NMS or reflection to stop player processing
-            Object entityPlayer = player.getClass().getMethod("getHandle").invoke(player);
-
-            // Try to find 'frozen' field or similar
-            Field frozenField = null;
-            try {
-                frozenField = entityPlayer.getClass().getDeclaredField("frozen");
-            } catch (NoSuchFieldException e) {
-                // Try alternative field names
-                try {
-                    frozenField = entityPlayer.getClass().getDeclaredField("ticksDisabled");
-                } catch (NoSuchFieldException e2) {
-                    try {
-                        frozenField = entityPlayer.getClass().getDeclaredField("noTickTime");
-                    } catch (NoSuchFieldException e3) {
-                        // No field to stop ticks
-                    }
-                }
+            if (PlayerTickHandles.warmUp(Class.forName(playerClassName))) {
+                plugin.logMessage("Player tick pausing is available", LogLevel.FINE);
+            } else {
+                plugin.logMessage("Player tick pausing is not available on this server - skipping", LogLevel.INFO);
             }
+        } catch (ClassNotFoundException e) {
+            // Unknown implementation, handles are resolved on the first join instead
+            plugin.logMessage("Player implementation " + playerClassName + " not found", LogLevel.FINE);
+        }
+    }
 
-            if (frozenField != null) {
-                frozenField.setAccessible(true);
-
-                // Check field type and set appropriate value
-                if (frozenField.getType() == boolean.class) {
-                    frozenField.setBoolean(entityPlayer, true);
-                } else if (frozenField.getType() == int.class) {
-                    frozenField.setInt(entityPlayer, Integer.MAX_VALUE);
-                } else if (frozenField.getType() == long.class) {
-                    frozenField.setLong(entityPlayer, Long.MAX_VALUE);
-                }
-
-                plugin.logMessage("Successfully paused ticks for player: " + player.getName(), LogLevel.FINE);
+    /**
+     * Stops player ticking, significantly reducing CPU usage
+     */
+    private void pausePlayerTicking(Player player) {
+        if (PlayerTickHandles.setPaused(player, true)) {
+            plugin.logMessage("Successfully paused ticks for player: " + player.getName(), LogLevel.FINE);
 
-                // Track tick pause
-                plugin.getMetricsCollector().incrementCounter("ticks_paused");
-            }
-        } catch (Exception e) {
-            // Ignore if method doesn't work
-            plugin.logMessage("Failed to pause player ticks: " + e.getMessage(), LogLevel.FINE);
+            // Track tick pause
+            ticksPaused.increment();
         }
     }
 
@@ -278,72 +376,43 @@ public class QueueManager {
      * Resumes player ticking before teleportation
      */
     private void resumePlayerTicking(Player player) {
-        try {
-            // Use NMS or reflection to resume player processing
-            Object entityPlayer = player.getClass().getMethod("getHandle").invoke(player);
-
-            // Try to find 'frozen' field or similar
-            Field frozenField = null;
-            try {
-                frozenField = entityPlayer.getClass().getDeclaredField("frozen");
-            } catch (NoSuchFieldException e) {
-                // Try alternative field names
-                try {
-                    frozenField = entityPlayer.getClass().getDeclaredField("ticksDisabled");
-                } catch (NoSuchFieldException e2) {
-                    try {
-                        frozenField = entityPlayer.getClass().getDeclaredField("noTickTime");
-                    } catch (NoSuchFieldException e3) {
-                        // No field to stop ticks
-                    }
-                }
-            }
-
-            if (frozenField != null) {
-                frozenField.setAccessible(true);
-
-                // Check field type and set appropriate value
-                if (frozenField.getType() == boolean.class) {
-                    frozenField.setBoolean(entityPlayer, false);
-                } else if (frozenField.getType() == int.class || frozenField.getType() == long.class) {
-                    frozenField.set(entityPlayer, 0);
-                }
-
-                // Track tick resume
-                plugin.getMetricsCollector().incrementCounter("ticks_resumed");
-            }
-        } catch (Exception e) {
-            // Ignore if method doesn't work
+        if (PlayerTickHandles.setPaused(player, false)) {
+            // Track tick resume
+            ticksResumed.increment();
         }
     }
 
     /**
      * Adds player to frozen list without starting queue process
      */
-    public void freezePlayerWithoutQueue(Player player) {
-        final UUID playerId = player.getUniqueId();
-
+    public void freezePlayerWithoutQueue(Player player, QueueProfile profile) {
         // Add player to frozen list
-        frozenPlayers.add(playerId);
+        QueueSession session = openSession(player, createTicket(profile), State.JOINING);
+
+        // Hide player from others and others from this player
+        hidePlayerFromOthers(player);
+
+        joinPipeline.submit(player, session, this::completeFreeze);
+    }
 
+    /**
+     * Second stage of freezePlayerWithoutQueue, run by the join pipeline
+     */
+    private void completeFreeze(Player player, QueueSession session) {
         // Teleport player to established location
         Location spawnLocation = plugin.getConfigManager().createSpawnLocation();
         player.teleport(spawnLocation);
 
-        // Optimization - unload unnecessary chunks
-        if (plugin.getOptimizationConfig().isOptimizeChunks()) {
-            unloadUnnecessaryChunks(spawnLocation);
-        }
+        // Optimization - unload chunks outside the budget around spawn
+        plugin.getChunkGovernor().resume();
 
         // Optimization - reduce view distance for player in queue
         if (plugin.getOptimizationConfig().isReduceViewDistance()) {
             // Save original view distance and set low one
-            originalViewDistances.put(playerId, getPlayerViewDistance(player));
+            session.setOriginalViewDistance(getPlayerViewDistance(player));
             setReducedViewDistance(player);
         }
-
-        // Hide player from others and others from this player
-        hidePlayerFromOthers(player);
+        session.transition(State.JOINING, State.WAITING);
 
         // Don't start countdown or sounds, just notify about freezing
         plugin.getVersionManager().sendActionBar(player,
@@ -352,7 +421,7 @@ public class QueueManager {
         plugin.logMessage("Froze player " + player.getName() + " without queue", LogLevel.INFO);
 
         // Track frozen players
-        plugin.getMetricsCollector().incrementCounter("players_frozen");
+        playersFrozen.increment();
     }
 
     private int getPlayerViewDistance(Player player) {
@@ -376,11 +445,10 @@ public class QueueManager {
         }
     }
 
-    private void restoreViewDistance(Player player) {
-        UUID playerId = player.getUniqueId();
-        if (plugin.getOptimizationConfig().isReduceViewDistance() && originalViewDistances.containsKey(playerId)) {
+    private void restoreViewDistance(Player player, QueueSession session) {
+        int originalDistance = session.takeOriginalViewDistance();
+        if (plugin.getOptimizationConfig().isReduceViewDistance() && originalDistance >= 0) {
             try {
-                int originalDistance = originalViewDistances.remove(playerId);
                 Method setViewDistanceMethod = Player.class.getMethod("setViewDistance", int.class);
                 setViewDistanceMethod.invoke(player, originalDistance);
                 plugin.logMessage("Restored view distance for " + player.getName() + " to " + originalDistance, LogLevel.FINE);
@@ -390,42 +458,62 @@ public class QueueManager {
         }
     }
 
+    /**
+     * Registers or unregisters the restriction handlers on the main thread
+     */
+    private void updateRestrictionListener() {
+        if (Bukkit.isPrimaryThread()) {
+            plugin.getRestrictionListener().update();
+        } else {
+            plugin.getMainThreadInbox().post(() -> plugin.getRestrictionListener().update());
+        }
+    }
+
+    private void restoreGameMode(Player player, QueueSession session) {
+        GameMode originalMode = session.takeOriginalGameMode();
+        if (plugin.getOptimizationConfig().isSpectatorMode() && originalMode != null) {
+            player.setGameMode(originalMode);
+        }
+    }
+
     public void removeFromQueue(Player player) {
         UUID playerId = player.getUniqueId();
 
-        // Remove from frozen list
-        frozenPlayers.remove(playerId);
+        // End the session
+        QueueSession session = closeSession(playerId);
 
         // Cancel task for this player
+        boolean setUp = !joinPipeline.cancel(playerId);
         cancelPlayerTask(player);
+        capacityQueue.remove(playerId);
+        releaseGate.remove(playerId);
 
-        // Resume player ticking
-        if (plugin.getOptimizationConfig().isDisablePlayerTicks()) {
+        // Resume player ticking, unless the player left before being set up
+        if (setUp && plugin.getOptimizationConfig().isDisablePlayerTicks()) {
             resumePlayerTicking(player);
         }
 
-        // Restore original game mode
-        if (plugin.getOptimizationConfig().isSpectatorMode() && originalGameModes.containsKey(playerId)) {
-            GameMode originalMode = originalGameModes.remove(playerId);
-            player.setGameMode(originalMode);
+        if (session != null) {
+            // Restore original game mode
+            restoreGameMode(player, session);
+
+            // Restore original view distance
+            restoreViewDistance(player, session);
         }
 
         // Restore visibility
         makePlayerVisible(player);
 
-        // Restore original view distance
-        restoreViewDistance(player);
-
         plugin.logMessage("Removed player " + player.getName() + " from queue", LogLevel.INFO);
 
         // Track queue removals
-        plugin.getMetricsCollector().incrementCounter("players_unqueued");
+        playersUnqueued.increment();
     }
 
     public void releaseAllPlayers() {
         // Release all frozen players
         int releasedCount = 0;
-        for (UUID uuid : new HashSet<>(frozenPlayers)) {
+        for (UUID uuid : getFrozenPlayers()) {
             Player player = Bukkit.getPlayer(uuid);
             if (player != null) {
                 removeFromQueue(player);
@@ -447,56 +535,36 @@ public class QueueManager {
         // Cancel notification task
         stopNotificationTask();
 
-        // Cancel all player tasks
-        for (BukkitTask task : new ArrayList<>(playerTasks.values())) {
-            if (task != null) {
-                task.cancel();
-            }
-        }
-
-        playerTasks.clear();
+        // Cancel all player countdowns
+        countdownEngine.cancelAll();
+        countdownRenderer.clear();
+        joinPipeline.clear();
+        capacityQueue.clear();
+        releaseGate.clear();
         plugin.logMessage("Canceled all tasks", LogLevel.INFO);
     }
 
-    public void cleanup() {
-        frozenPlayers.clear();
-        playerTasks.clear();
-        originalViewDistances.clear();
-        originalGameModes.clear();
-
-        // Stop chunk limiting task if running
-        if (chunkLimitTask != null) {
-            chunkLimitTask.cancel();
-            chunkLimitTask = null;
-        }
-
-        plugin.logMessage("Cleared queue state data", LogLevel.FINE);
-    }
-
     /**
-     * Starts periodic chunk limiting task
+     * Stops tasks before a config reload.
+     * Players waiting at the release gate or in the capacity line keep their place,
+     * the gate only picks up the new rate. Pending join setups keep running, so no session is left in JOINING
      */
-    public void startChunkLimitTask() {
-        if (!plugin.getOptimizationConfig().isOptimizeChunks() || !plugin.getOptimizationConfig().isAggressiveChunkManagement()) {
-            return;
-        }
+    public void cancelTasksForReload() {
+        stopNotificationTask();
+        countdownEngine.cancelAll();
+        countdownRenderer.clear();
+        plugin.logMessage("Canceled tasks for reload", LogLevel.INFO);
+    }
 
-        // Cancel existing task
-        if (chunkLimitTask != null) {
-            chunkLimitTask.cancel();
+    public void cleanup() {
+        for (QueueSession session : sessions.values()) {
+            session.finish();
         }
+        sessions.clear();
+        plugin.getRestrictionListener().stop();
+        countdownEngine.cancelAll();
 
-        // Start new task
-        chunkLimitTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!frozenPlayers.isEmpty()) {
-                    enforceChunkLimit();
-                }
-            }
-        }.runTaskTimer(plugin, 100L, 200L); // Every 10 seconds (200 ticks)
-
-        plugin.logMessage("Started chunk limiting task", LogLevel.INFO);
+        plugin.logMessage("Cleared queue state data", LogLevel.FINE);
     }
 
     public void startNotificationTask() {
@@ -506,15 +574,20 @@ public class QueueManager {
         notificationTask = new BukkitRunnable() {
             @Override
             public void run() {
-                for (Player player : Bukkit.getOnlinePlayers()) {
-                    // Skip players with bypass permission
-                    if (player.hasPermission("shamboq.bypass")) {
-                        continue;
-                    }
+                long start = notificationProbe.start();
+                try {
+                    for (Player player : Bukkit.getOnlinePlayers()) {
+                        // Skip players with bypass permission
+                        if (player.hasPermission("shamboq.bypass")) {
+                            continue;
+                        }
 
-                    // Send message in action bar
-                    plugin.getVersionManager().sendActionBar(player,
-                            ChatColor.RED + plugin.getConfigManager().getQueueDisabledMessage());
+                        // Send message in action bar
+                        plugin.getVersionManager().sendActionBar(player,
+                                ChatColor.RED + plugin.getConfigManager().getQueueDisabledMessage());
+                    }
+                } finally {
+                    notificationProbe.stop(start);
                 }
             }
         }.runTaskTimer(plugin, 20L, plugin.getConfigManager().getNotificationInterval() * 20L);
@@ -530,201 +603,92 @@ public class QueueManager {
         }
     }
 
-    private void startPlayerTask(final Player player) {
-        final UUID playerId = player.getUniqueId();
-        final int queueTime = plugin.getConfigManager().getQueueTime();
+    private void startPlayerTask(final Player player, int queueTime) {
+        countdownEngine.start(player, queueTime);
+        plugin.logMessage("Started queue task for " + player.getName() +
+                (countdownEngine instanceof QueueScheduler ? " in main thread" : " in dedicated thread"), LogLevel.FINE);
+    }
 
-        // Use dedicated thread pool if enabled
-        if (plugin.getOptimizationConfig().isDedicatedThreadPool() && plugin.getQueueThreadPool() != null) {
-            CompletableFuture.runAsync(() -> {
-                try {
-                    processQueuePlayer(player, playerId, queueTime);
-                } catch (Exception e) {
-                    plugin.logMessage("Error in queue thread: " + e.getMessage(), LogLevel.ERROR);
-                }
-            }, plugin.getQueueThreadPool());
+    @Override
+    public void onCountdownTick(Player player, int secondsLeft) {
+        CosmeticGovernor cosmetics = plugin.getCosmeticGovernor();
 
-            plugin.logMessage("Started queue task for " + player.getName() + " in dedicated thread", LogLevel.FINE);
-            return;
+        // Update countdown - rendered once per distinct remaining time and sent in batches
+        if (cosmetics.allowActionBar(secondsLeft)) {
+            countdownRenderer.submit(player, secondsLeft);
         }
 
-        // If we don't use dedicated thread pool, use standard Bukkit scheduler
-        BukkitTask task = new BukkitRunnable() {
-            int timeLeft = queueTime;
-            int soundCounter = 0;
-            // OPTIMIZATION: Reduce sound frequency (1 sound per second instead of 4)
-            int maxSoundCount = queueTime; // Was: queueTime * 4
-
-            @Override
-            public void run() {
-                // Check if player is online
-                if (!player.isOnline() || !frozenPlayers.contains(playerId)) {
-                    playerTasks.remove(player);
-                    this.cancel();
-                    return;
-                }
-
-                // Countdown handling (every second)
-                if (soundCounter % 4 == 0) { // Every 4 iterations = 1 second
-                    if (timeLeft <= 0) {
-                        // Time expired, transfer player but only if queue is enabled
-                        if (plugin.getConfigManager().isQueueEnabled()) {
-                            // Restore normal settings before teleportation
-                            if (plugin.getOptimizationConfig().isDisablePlayerTicks()) {
-                                resumePlayerTicking(player);
-                            }
-
-                            // Restore game mode
-                            if (plugin.getOptimizationConfig().isSpectatorMode() && originalGameModes.containsKey(playerId)) {
-                                GameMode originalMode = originalGameModes.remove(playerId);
-                                player.setGameMode(originalMode);
-                            }
-
-                            // NOTE: Don't remove player from frozen list until the connection is confirmed successful
-                            // We'll keep the player's visibility settings until connection is confirmed
-
-                            // Use ConnectionHandler to send to server with error handling
-                            plugin.getConnectionHandler().sendToServer(player, plugin.getConfigManager().getSmpServer());
-
-                            // Cancel further countdowns but leave player frozen until connection is confirmed
-                            playerTasks.remove(player);
-                            this.cancel();
-                            return;
-                        }
-                        frozenPlayers.remove(playerId);
-                        playerTasks.remove(player);
-                        this.cancel();
-                        return;
-                    }
-
-                    // Update countdown
-                    plugin.getVersionManager().sendActionBar(player,
-                            plugin.getMessageManager().getMessage("countdown", timeLeft));
-
-                    // OPTIMIZATION: Only 1 sound per second instead of 4
-                    if (soundCounter < maxSoundCount) {
-                        plugin.getSoundManager().playRandomSound(player);
-                    }
+        // OPTIMIZATION: Only 1 sound per second, fewer when the server is overloaded
+        if (cosmetics.allowSound(secondsLeft)) {
+            plugin.getSoundManager().playRandomSound(player);
+        }
+    }
 
-                    timeLeft--;
-                }
+    @Override
+    public void onCountdownFinished(Player player) {
+        UUID playerId = player.getUniqueId();
 
-                soundCounter++;
-            }
-        }.runTaskTimer(plugin, 5L, 5L); // Every 5 ticks (0.25 seconds)
+        // Time expired, transfer player but only if queue is enabled
+        if (plugin.getConfigManager().isQueueEnabled()) {
+            admitPlayer(player);
+            return;
+        }
 
-        // Save task
-        playerTasks.put(player, task);
-        plugin.logMessage("Started queue task for " + player.getName() + " in main thread", LogLevel.FINE);
+        closeSession(playerId);
     }
 
     /**
-     * Function handling player in queue for dedicated thread pool
+     * Hands a player whose wait is over to the release gate
      */
-    private void processQueuePlayer(Player player, UUID playerId, int queueTime) {
-        // Function running in dedicated thread from pool
-        long startTime = System.currentTimeMillis();
-        long endTime = startTime + (queueTime * 1000L);
-        int soundsPlayed = 0;
-
-        try {
-            while (System.currentTimeMillis() < endTime) {
-                // Synchronize with main thread only what's necessary
-                new BukkitRunnable() {
-                    @Override
-                    public void run() {
-                        // Check if player is online
-                        if (!player.isOnline() || !frozenPlayers.contains(playerId)) {
-                            return;
-                        }
-
-                        // Update countdown
-                        long currentTime = System.currentTimeMillis();
-                        int secondsLeft = (int)((endTime - currentTime) / 1000) + 1;
-
-                        plugin.getVersionManager().sendActionBar(player,
-                                plugin.getMessageManager().getMessage("countdown", secondsLeft));
-                    }
-                }.runTask(plugin);
-
-                // Play sounds once per second
-                if (soundsPlayed < queueTime) {
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            if (player.isOnline() && frozenPlayers.contains(playerId)) {
-                                plugin.getSoundManager().playRandomSound(player);
-                            }
-                        }
-                    }.runTask(plugin);
-                    soundsPlayed++;
-                }
+    private void admitPlayer(Player player) {
+        QueueSession session = sessions.get(player.getUniqueId());
+        if (session == null || !session.transition(State.WAITING, State.RELEASING)) {
+            return;
+        }
 
-                // Check status every second
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    break;
-                }
-            }
+        // Wait for the release gate to admit the player to the SMP server
+        releaseGate.enqueue(session.getTicket());
+        if (releaseGate.isWaiting(player.getUniqueId())) {
+            plugin.getVersionManager().sendActionBar(player,
+                    plugin.getMessageManager().getMessage("release_waiting"));
+        }
+    }
 
-            // After countdown finishes, transfer player
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    if (player.isOnline() && frozenPlayers.contains(playerId)) {
-                        if (plugin.getConfigManager().isQueueEnabled()) {
-                            // Restore normal settings before teleportation
-                            if (plugin.getOptimizationConfig().isDisablePlayerTicks()) {
-                                resumePlayerTicking(player);
-                            }
+    /**
+     * Transfers a player admitted by the release gate to the SMP server
+     */
+    private void releasePlayer(Player player) {
+        QueueSession session = sessions.get(player.getUniqueId());
+        if (session == null || session.getState() != State.RELEASING) {
+            return;
+        }
 
-                            // Restore game mode
-                            if (plugin.getOptimizationConfig().isSpectatorMode() && originalGameModes.containsKey(playerId)) {
-                                GameMode originalMode = originalGameModes.remove(playerId);
-                                player.setGameMode(originalMode);
-                            }
+        // Restore normal settings before teleportation
+        if (plugin.getOptimizationConfig().isDisablePlayerTicks()) {
+            resumePlayerTicking(player);
+        }
 
-                            // NOTE: Don't remove player from frozen list until the connection is confirmed successful
-                            // We'll keep the player's visibility settings until connection is confirmed
+        // Restore game mode
+        restoreGameMode(player, session);
+        queueWait.record(System.currentTimeMillis() - session.getCreatedTime());
 
-                            // Use ConnectionHandler to send to server with error handling
-                            plugin.getConnectionHandler().sendToServer(player, plugin.getConfigManager().getSmpServer());
-                            plugin.logMessage("Moving player " + player.getName() + " after countdown finished", LogLevel.INFO);
+        // NOTE: Don't remove player from frozen list until the connection is confirmed successful
+        // We'll keep the player's visibility settings until connection is confirmed
 
-                            // Player remains frozen until connection is confirmed or fails
-                            playerTasks.remove(player);
-                        } else {
-                            frozenPlayers.remove(playerId);
-                            playerTasks.remove(player);
-                        }
-                    }
-                }
-            }.runTask(plugin);
-        } catch (Exception e) {
-            plugin.logMessage("Error processing player in queue: " + e.getMessage(), LogLevel.ERROR);
-            e.printStackTrace();
-        }
+        // Use ConnectionHandler to send to server with error handling
+        plugin.getConnectionHandler().sendToServer(player, plugin.getConfigManager().getSmpServer());
+        plugin.logMessage("Moving player " + player.getName() + " after countdown finished", LogLevel.INFO);
     }
 
     private void cancelPlayerTask(Player player) {
-        BukkitTask task = playerTasks.remove(player);
-        if (task != null) {
-            task.cancel();
+        if (countdownEngine.cancel(player.getUniqueId())) {
             plugin.logMessage("Canceled queue task for " + player.getName(), LogLevel.FINE);
         }
     }
 
     private void hidePlayerFromOthers(Player player) {
-        // Hide this player from all other players and hide all others from this player
-        List<Player> onlinePlayers = new ArrayList<>(Bukkit.getOnlinePlayers());
-
-        for (Player otherPlayer : onlinePlayers) {
-            if (!otherPlayer.equals(player)) {
-                otherPlayer.hidePlayer(plugin, player);
-                player.hidePlayer(plugin, otherPlayer);
-            }
-        }
+        // Hide this player from all other players and hide all others from this player, spread across ticks
+        plugin.getVisibilityManager().setQueued(player);
     }
 
     private void makePlayerVisible(Player player) {
@@ -733,19 +697,38 @@ public class QueueManager {
             return;
         }
 
-        // Restore visibility
-        List<Player> onlinePlayers = new ArrayList<>(Bukkit.getOnlinePlayers());
+        // Restore visibility with all other free players
+        plugin.getVisibilityManager().setFree(player);
+    }
 
-        for (Player otherPlayer : onlinePlayers) {
-            if (otherPlayer.isOnline() && !otherPlayer.equals(player)) {
-                otherPlayer.showPlayer(plugin, player);
-                player.showPlayer(plugin, otherPlayer);
+    // Getters
+    public Set<UUID> getFrozenPlayers() {
+        Set<UUID> frozen = new HashSet<>();
+        for (QueueSession session : sessions.values()) {
+            if (session.isQueued()) {
+                frozen.add(session.getPlayerId());
             }
         }
+        return frozen;
     }
 
-    // Getters
-    public Set<UUID> getFrozenPlayers() {
-        return new HashSet<>(frozenPlayers);
+    /**
+     * Queue ticket of a frozen player, or null if not frozen
+     */
+    public QueueTicket getTicket(UUID playerId) {
+        QueueSession session = sessions.get(playerId);
+        return session != null ? session.getTicket() : null;
+    }
+
+    public ReleaseGate getReleaseGate() {
+        return releaseGate;
+    }
+
+    public CapacityQueue getCapacityQueue() {
+        return capacityQueue;
+    }
+
+    public JoinPipeline getJoinPipeline() {
+        return joinPipeline;
     }
 }
\ No newline at end of file
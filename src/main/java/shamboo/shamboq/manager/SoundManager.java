@@ -4,6 +4,7 @@ import org.bukkit.Sound;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.util.Counter;
 import shamboo.shamboq.util.LogLevel;
 
 import java.util.Arrays;
@@ -15,11 +16,13 @@ import java.util.Random;
  */
 public class SoundManager {
     private final ShamboQ plugin;
+    private final Counter soundsPlayed;
     private final Random random = new Random();
     private Sound[] randomSounds;
 
     public SoundManager(ShamboQ plugin) {
         this.plugin = plugin;
+        this.soundsPlayed = plugin.getMetricsCollector().counter("sounds_played");
         loadSounds();
     }
 
@@ -72,7 +75,7 @@ public class SoundManager {
         player.playSound(player.getLocation(), randomSound, volume, pitch);
 
         // Track sounds played
-        plugin.getMetricsCollector().incrementCounter("sounds_played");
+        soundsPlayed.increment();
     }
 
     public void reload() {
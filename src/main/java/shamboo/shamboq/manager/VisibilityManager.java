@@ -0,0 +1,262 @@
+package shamboo.shamboq.manager;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.util.Counter;
+import shamboo.shamboq.util.TickProfiler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Class managing player visibility between queued and free players.
+ * Queued players see nobody and are seen by nobody, free players see each other.
+ * Changes are applied as per-player jobs spread across ticks under a budget of hide/show calls,
+ * and pairs that are already in the wanted state send nothing. Main thread only
+ */
+public class VisibilityManager {
+    // Pairs checked per hide/show call allowed by the budget, bounds time spent on skipped pairs
+    private static final int CHECKS_PER_OP = 8;
+
+    /**
+     * Visibility group of a player
+     */
+    public enum Group {
+        QUEUED, FREE
+    }
+
+    private final ShamboQ plugin;
+    private final TickProfiler.Probe probe;
+    private final Counter visibilityOps;
+    private final Counter visibilitySkipped;
+    private final Map<UUID, Group> groups = new HashMap<>();
+    // Players in the QUEUED group, so joins check for them without scanning the groups
+    private int queuedCount;
+    private final Map<UUID, Job> pendingJobs = new HashMap<>();
+    private final Deque<Job> jobs = new ArrayDeque<>();
+    private BukkitTask task;
+
+    public VisibilityManager(ShamboQ plugin) {
+        this.plugin = plugin;
+        this.probe = plugin.getTickProfiler().probe("visibility");
+        this.visibilityOps = plugin.getMetricsCollector().counter("visibility_ops");
+        this.visibilitySkipped = plugin.getMetricsCollector().counter("visibility_skipped");
+    }
+
+    /**
+     * Hide a player from everybody and everybody from the player
+     */
+    public void setQueued(Player player) {
+        setGroup(player, Group.QUEUED);
+    }
+
+    /**
+     * Make a player visible to all other free players again
+     */
+    public void setFree(Player player) {
+        setGroup(player, Group.FREE);
+    }
+
+    /**
+     * Track a player joining the server, so queued players do not see them
+     */
+    public void trackJoin(Player player) {
+        if (queuedCount > 0 && !groups.containsKey(player.getUniqueId())) {
+            setGroup(player, Group.FREE);
+        }
+    }
+
+    /**
+     * Forget a player leaving the server
+     */
+    public void forget(UUID playerId) {
+        if (groups.remove(playerId) == Group.QUEUED) {
+            queuedCount--;
+        }
+        Job job = pendingJobs.remove(playerId);
+        if (job != null) {
+            jobs.remove(job);
+        }
+    }
+
+    public Group getGroup(UUID playerId) {
+        return groups.getOrDefault(playerId, Group.FREE);
+    }
+
+    /**
+     * Number of players waiting for their visibility to be updated
+     */
+    public int getPendingJobs() {
+        return jobs.size();
+    }
+
+    /**
+     * Apply all pending work right away, ignoring the budget (used on disable)
+     */
+    public void flush() {
+        processJobs(Integer.MAX_VALUE);
+        stopTask();
+    }
+
+    /**
+     * Drop all pending work and group state
+     */
+    public void clear() {
+        jobs.clear();
+        pendingJobs.clear();
+        groups.clear();
+        queuedCount = 0;
+        stopTask();
+    }
+
+    private void setGroup(Player player, Group group) {
+        UUID playerId = player.getUniqueId();
+        Group previous = groups.put(playerId, group);
+        if (previous != group) {
+            queuedCount += group == Group.QUEUED ? 1 : previous == Group.QUEUED ? -1 : 0;
+        }
+
+        Job job = pendingJobs.get(playerId);
+        if (job != null) {
+            // Pairs already handled were based on the old group - start over
+            job.restart();
+            return;
+        }
+
+        if (previous == group) {
+            return;
+        }
+
+        job = new Job(playerId);
+        pendingJobs.put(playerId, job);
+        jobs.add(job);
+        ensureTaskRunning();
+    }
+
+    private void ensureTaskRunning() {
+        if (task != null) {
+            return;
+        }
+
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                long start = probe.start();
+                try {
+                    processJobs(plugin.getOptimizationConfig().getVisibilityOpsPerTick());
+                    if (jobs.isEmpty()) {
+                        stopTask();
+                    }
+                } finally {
+                    probe.stop(start);
+                }
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    private void stopTask() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void processJobs(int budget) {
+        long checkBudget = (long) budget * CHECKS_PER_OP;
+        int ops = 0;
+        long checks = 0;
+
+        while (!jobs.isEmpty() && ops < budget && checks < checkBudget) {
+            Job job = jobs.peek();
+            Player subject = Bukkit.getPlayer(job.playerId);
+            if (subject == null || !subject.isOnline()) {
+                finish(job);
+                continue;
+            }
+
+            if (job.others == null) {
+                // Snapshot taken when the job starts, players joining later get their own job
+                job.others = new ArrayList<>(Bukkit.getOnlinePlayers());
+                job.index = 0;
+            }
+
+            boolean subjectFree = getGroup(job.playerId) == Group.FREE;
+            while (job.index < job.others.size() && ops < budget && checks < checkBudget) {
+                Player other = job.others.get(job.index++);
+                checks++;
+                if (other.equals(subject) || !other.isOnline()) {
+                    continue;
+                }
+
+                boolean visible = subjectFree && getGroup(other.getUniqueId()) == Group.FREE;
+                ops += apply(other, subject, visible);
+                ops += apply(subject, other, visible);
+            }
+
+            if (job.index >= job.others.size()) {
+                finish(job);
+            }
+        }
+
+        plugin.getMetricsCollector().setGauge("visibility_ops_last_tick", ops);
+        plugin.getMetricsCollector().setGauge("visibility_pending", jobs.size());
+    }
+
+    /**
+     * Make the target visible or hidden for the viewer if it is not already.
+     * Hides are per plugin in Bukkit, so a target hidden by another plugin (vanish) still gets our own
+     * hide - otherwise it would show up for queued players once the other plugin shows it again
+     * @return Number of hide/show calls that changed what the viewer sees
+     */
+    private int apply(Player viewer, Player target, boolean visible) {
+        boolean canSee = viewer.canSee(target);
+        if (visible) {
+            if (canSee) {
+                visibilitySkipped.increment();
+                return 0;
+            }
+            // Lifts only our own hide, a target hidden by another plugin stays hidden
+            viewer.showPlayer(plugin, target);
+        } else {
+            // Already hidden costs no packet, but our hide has to be registered all the same
+            viewer.hidePlayer(plugin, target);
+            if (!canSee) {
+                visibilitySkipped.increment();
+                return 0;
+            }
+        }
+        visibilityOps.increment();
+        return 1;
+    }
+
+    private void finish(Job job) {
+        jobs.poll();
+        pendingJobs.remove(job.playerId);
+    }
+
+    /**
+     * Pending visibility update of a single player against everybody online
+     */
+    private static final class Job {
+        private final UUID playerId;
+        private List<Player> others;
+        private int index;
+
+        private Job(UUID playerId) {
+            this.playerId = playerId;
+        }
+
+        private void restart() {
+            others = null;
+            index = 0;
+        }
+    }
+}
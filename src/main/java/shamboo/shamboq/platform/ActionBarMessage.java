@@ -0,0 +1,28 @@
+package shamboo.shamboq.platform;
+
+/**
+ * Action bar message rendered once by the platform adapter and reusable for any number of players
+ */
+public final class ActionBarMessage {
+    private final String text;
+    private final Object payload;
+
+    public ActionBarMessage(String text, Object payload) {
+        this.text = text;
+        this.payload = payload;
+    }
+
+    /**
+     * Legacy formatted text of the message
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Platform specific payload (legacy string or Adventure component)
+     */
+    public Object getPayload() {
+        return payload;
+    }
+}
@@ -5,6 +5,7 @@ import org.bukkit.ChatColor;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.util.Counter;
 
 import java.util.List;
 
@@ -13,9 +14,11 @@ import java.util.List;
  */
 public class FallbackAdapter implements PlatformAdapter {
     private final ShamboQ plugin;
+    private final Counter fallbackMessages;
 
     public FallbackAdapter(ShamboQ plugin) {
         this.plugin = plugin;
+        this.fallbackMessages = plugin.getMetricsCollector().counter("fallback_messages");
     }
 
     @Override
@@ -24,7 +27,7 @@ public class FallbackAdapter implements PlatformAdapter {
         player.sendMessage(ChatColor.GRAY + "[" + ChatColor.GOLD + "Queue" + ChatColor.GRAY + "] " + message);
 
         // Track fallback usage
-        plugin.getMetricsCollector().incrementCounter("fallback_messages");
+        fallbackMessages.increment();
     }
 
     @Override
@@ -1,91 +1,161 @@
 package shamboo.shamboq.platform;
 
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.Chunk;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.util.Counter;
 import shamboo.shamboq.util.LogLevel;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.List;
 
 /**
- * Platform adapter for Paper servers
+ * Platform adapter for Paper servers.
+ * Paper-only methods are bound to method handles once at construction, a missing method is
+ * remembered as a null handle, Bukkit API methods are called directly
  */
 public class PaperAdapter implements PlatformAdapter {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
     private final ShamboQ plugin;
+    private final Counter actionbarSends;
+
+    // Adventure API - (String) -> Component and (Player, Component) -> void
+    private final MethodHandle componentText;
+    private final MethodHandle sendActionBar;
+
+    // Paper-only world and chunk methods
+    private final MethodHandle setNoTickChunk;
+    private final MethodHandle setPopulators;
+    private final MethodHandle setWorldViewDistance;
 
     public PaperAdapter(ShamboQ plugin) {
         this.plugin = plugin;
+        this.actionbarSends = plugin.getMetricsCollector().counter("actionbar_sends");
+
+        MethodHandle text = null;
+        MethodHandle send = null;
+        try {
+            // Bound through handles to avoid a compile dependency on the Adventure API
+            Class<?> componentClass = Class.forName("net.kyori.adventure.text.Component");
+            Class<?> audienceClass = Class.forName("net.kyori.adventure.audience.Audience");
+            text = LOOKUP.unreflect(componentClass.getMethod("text", String.class))
+                    .asType(MethodType.methodType(Object.class, String.class));
+            send = LOOKUP.unreflect(audienceClass.getMethod("sendActionBar", componentClass))
+                    .asType(MethodType.methodType(void.class, Player.class, Object.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            plugin.logMessage("Adventure action bars unavailable, using Spigot API: " + e.getMessage(), LogLevel.WARNING);
+            text = null;
+            send = null;
+        }
+        this.componentText = text;
+        this.sendActionBar = send;
+
+        this.setNoTickChunk = bind(Chunk.class, "setNoTickChunk", boolean.class);
+        this.setPopulators = bind(World.class, "setPopulators", List.class);
+        this.setWorldViewDistance = bind(World.class, "setViewDistance", int.class);
+    }
+
+    /**
+     * Binds a public method to a handle with the exact owner and parameter types
+     * @return Handle, or null if the method does not exist on this server
+     */
+    private MethodHandle bind(Class<?> owner, String name, Class<?> parameterType) {
+        try {
+            return LOOKUP.findVirtual(owner, name, MethodType.methodType(void.class, parameterType));
+        } catch (ReflectiveOperationException e) {
+            plugin.logMessage("Method " + owner.getSimpleName() + "." + name + " unavailable on this server", LogLevel.FINE);
+            return null;
+        }
     }
 
     @Override
     public void sendActionBar(Player player, String message) {
+        sendActionBar(player, prepareActionBar(message));
+    }
+
+    @Override
+    public ActionBarMessage prepareActionBar(String message) {
+        if (componentText == null) {
+            return new ActionBarMessage(message, null);
+        }
+
         try {
-            // Use reflection to avoid direct dependencies on Adventure API
-            Class<?> componentClass = Class.forName("net.kyori.adventure.text.Component");
-            Object component = componentClass.getMethod("text", String.class).invoke(null, message);
+            // Build the Adventure component once for every player receiving this message
+            Object component = (Object) componentText.invokeExact(message);
+            return new ActionBarMessage(message, component);
+        } catch (Throwable t) {
+            plugin.logMessage("Failed to prepare action bar through Adventure API: " + t.getMessage(), LogLevel.WARNING);
+            return new ActionBarMessage(message, null);
+        }
+    }
 
-            // Get audience from player
-            Method audienceMethod = player.getClass().getMethod("sendActionBar", componentClass);
-            audienceMethod.invoke(player, component);
+    @Override
+    public void sendActionBar(Player player, ActionBarMessage message) {
+        try {
+            if (message.getPayload() != null) {
+                sendActionBar.invokeExact(player, message.getPayload());
+            } else {
+                player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(message.getText()));
+            }
 
             // Track successful action bar sends
-            plugin.getMetricsCollector().incrementCounter("actionbar_sends");
-        } catch (Exception e) {
+            actionbarSends.increment();
+        } catch (Throwable t) {
             // Fallback in case of error
-            player.sendMessage(message);
-            plugin.logMessage("Failed to send action bar through Adventure API: " + e.getMessage(), LogLevel.WARNING);
+            player.sendMessage(message.getText());
+            plugin.logMessage("Failed to send action bar through Adventure API: " + t.getMessage(), LogLevel.WARNING);
         }
     }
 
     @Override
     public void setForceLoaded(Chunk chunk, boolean value) {
-        try {
-            Method setForceLoaded = Chunk.class.getMethod("setForceLoaded", boolean.class);
-            setForceLoaded.invoke(chunk, value);
-        } catch (Exception e) {
-            plugin.logMessage("Failed to set force loaded: " + e.getMessage(), LogLevel.WARNING);
-        }
+        chunk.setForceLoaded(value);
     }
 
     @Override
     public void setInhabitedTime(Chunk chunk, long time) {
-        try {
-            Method setInhabitedTime = Chunk.class.getMethod("setInhabitedTime", long.class);
-            setInhabitedTime.invoke(chunk, time);
-        } catch (Exception e) {
-            plugin.logMessage("Failed to set inhabited time: " + e.getMessage(), LogLevel.WARNING);
-        }
+        chunk.setInhabitedTime(time);
     }
 
     @Override
     public void setNoTickChunk(Chunk chunk, boolean value) {
+        if (setNoTickChunk == null) {
+            return;
+        }
         try {
-            Method setNoTickChunk = Chunk.class.getMethod("setNoTickChunk", boolean.class);
-            setNoTickChunk.invoke(chunk, value);
-        } catch (Exception e) {
-            plugin.logMessage("Failed to set no-tick chunk: " + e.getMessage(), LogLevel.WARNING);
+            setNoTickChunk.invokeExact(chunk, value);
+        } catch (Throwable t) {
+            plugin.logMessage("Failed to set no-tick chunk: " + t.getMessage(), LogLevel.WARNING);
         }
     }
 
     @Override
     public void setPopulators(World world, List<?> populators) {
+        if (setPopulators == null) {
+            return;
+        }
         try {
-            Method setPopulatorsMethod = World.class.getMethod("setPopulators", List.class);
-            setPopulatorsMethod.invoke(world, populators);
-        } catch (Exception e) {
-            plugin.logMessage("Failed to set populators: " + e.getMessage(), LogLevel.WARNING);
+            setPopulators.invokeExact(world, (List) populators);
+        } catch (Throwable t) {
+            plugin.logMessage("Failed to set populators: " + t.getMessage(), LogLevel.WARNING);
         }
     }
 
     @Override
     public void setWorldViewDistance(World world, int viewDistance) {
+        if (setWorldViewDistance == null) {
+            return;
+        }
         try {
-            Method setViewDistanceMethod = World.class.getMethod("setViewDistance", int.class);
-            setViewDistanceMethod.invoke(world, viewDistance);
-        } catch (Exception e) {
-            plugin.logMessage("Failed to set world view distance: " + e.getMessage(), LogLevel.WARNING);
+            setWorldViewDistance.invokeExact(world, viewDistance);
+        } catch (Throwable t) {
+            plugin.logMessage("Failed to set world view distance: " + t.getMessage(), LogLevel.WARNING);
         }
     }
-}
\ No newline at end of file
+}
@@ -15,6 +15,20 @@ public interface PlatformAdapter {
      */
     void sendActionBar(Player player, String message);
 
+    /**
+     * Renders an action bar message once so it can be sent to many players
+     */
+    default ActionBarMessage prepareActionBar(String message) {
+        return new ActionBarMessage(message, message);
+    }
+
+    /**
+     * Sends a prepared action bar message to a player
+     */
+    default void sendActionBar(Player player, ActionBarMessage message) {
+        sendActionBar(player, message.getText());
+    }
+
     /**
      * Sets whether a chunk is force loaded
      */
@@ -0,0 +1,178 @@
+package shamboo.shamboq.platform;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.util.LogLevel;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Immutable snapshot of what the running server supports.
+ * All class and method probes run once at startup, the result can be cached on disk per server version
+ */
+public final class PlatformCapabilities {
+    private static final String CACHE_FILE = "capabilities.yml";
+
+    private final boolean paper;
+    private final boolean adventure;
+    private final boolean spigotPlayerApi;
+    private final boolean worldSetPopulators;
+    private final boolean worldSetViewDistance;
+    private final boolean chunkSetNoTick;
+    private final boolean chunkSetForceLoaded;
+    private final boolean chunkSetInhabitedTime;
+    private final boolean serverAverageTickTime;
+
+    private PlatformCapabilities(Map<String, Boolean> values) {
+        this.paper = values.get("paper");
+        this.adventure = values.get("adventure");
+        this.spigotPlayerApi = values.get("spigot-player-api");
+        this.worldSetPopulators = values.get("world-set-populators");
+        this.worldSetViewDistance = values.get("world-set-view-distance");
+        this.chunkSetNoTick = values.get("chunk-set-no-tick");
+        this.chunkSetForceLoaded = values.get("chunk-set-force-loaded");
+        this.chunkSetInhabitedTime = values.get("chunk-set-inhabited-time");
+        this.serverAverageTickTime = values.get("server-average-tick-time");
+    }
+
+    /**
+     * Loads capabilities from the disk cache if it matches this server version, otherwise probes them
+     * @param plugin Plugin instance
+     * @param useCache Whether to read and write the disk cache
+     */
+    public static PlatformCapabilities load(ShamboQ plugin, boolean useCache) {
+        String serverKey = Bukkit.getBukkitVersion() + " " + Bukkit.getVersion();
+        File cacheFile = new File(plugin.getDataFolder(), CACHE_FILE);
+
+        if (useCache && cacheFile.exists()) {
+            YamlConfiguration cache = YamlConfiguration.loadConfiguration(cacheFile);
+            if (serverKey.equals(cache.getString("server-version"))) {
+                Map<String, Boolean> values = new LinkedHashMap<>();
+                boolean complete = true;
+                for (String key : probes().keySet()) {
+                    complete &= cache.contains("capabilities." + key);
+                    values.put(key, cache.getBoolean("capabilities." + key));
+                }
+                if (complete) {
+                    plugin.logMessage("Loaded platform capabilities from cache", LogLevel.FINE);
+                    return new PlatformCapabilities(values);
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        Map<String, Boolean> values = probe();
+        plugin.logMessage("Probed platform capabilities in " + (System.nanoTime() - start) / 1_000_000 + "ms: " +
+                values, LogLevel.FINE);
+
+        if (useCache) {
+            YamlConfiguration cache = YamlConfiguration.loadConfiguration(cacheFile);
+            cache.set("server-version", serverKey);
+            values.forEach((key, value) -> cache.set("capabilities." + key, value));
+            try {
+                cache.save(cacheFile);
+            } catch (IOException e) {
+                plugin.logMessage("Failed to save platform capabilities: " + e.getMessage(), LogLevel.WARNING);
+            }
+        }
+        return new PlatformCapabilities(values);
+    }
+
+    /**
+     * Runs all probes in parallel
+     */
+    private static Map<String, Boolean> probe() {
+        Map<String, CompletableFuture<Boolean>> pending = new LinkedHashMap<>();
+        probes().forEach((key, check) -> pending.put(key, CompletableFuture.supplyAsync(check::getAsBoolean)));
+
+        Map<String, Boolean> values = new LinkedHashMap<>();
+        pending.forEach((key, future) -> values.put(key, future.join()));
+        return values;
+    }
+
+    private static Map<String, BooleanSupplier> probes() {
+        Map<String, BooleanSupplier> probes = new LinkedHashMap<>();
+        probes.put("paper", () -> hasClass("com.destroystokyo.paper.PaperConfig") ||
+                hasClass("io.papermc.paper.configuration.Configuration"));
+        probes.put("adventure", () -> hasClass("net.kyori.adventure.text.Component"));
+        probes.put("spigot-player-api", () -> hasClass("org.bukkit.entity.Player$Spigot") &&
+                hasClass("net.md_5.bungee.api.chat.TextComponent"));
+        probes.put("world-set-populators", () -> hasMethod(World.class, "setPopulators", List.class));
+        probes.put("world-set-view-distance", () -> hasMethod(World.class, "setViewDistance", int.class));
+        probes.put("chunk-set-no-tick", () -> hasMethod(Chunk.class, "setNoTickChunk", boolean.class));
+        probes.put("chunk-set-force-loaded", () -> hasMethod(Chunk.class, "setForceLoaded", boolean.class));
+        probes.put("chunk-set-inhabited-time", () -> hasMethod(Chunk.class, "setInhabitedTime", long.class));
+        probes.put("server-average-tick-time", () -> hasMethod(Server.class, "getAverageTickTime"));
+        return probes;
+    }
+
+    private static boolean hasClass(String name) {
+        try {
+            Class.forName(name, false, PlatformCapabilities.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static boolean hasMethod(Class<?> owner, String name, Class<?>... parameterTypes) {
+        try {
+            owner.getMethod(name, parameterTypes);
+            return true;
+        } catch (NoSuchMethodException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether the server is Paper or a fork
+     */
+    public boolean isPaper() {
+        return paper;
+    }
+
+    public boolean hasAdventure() {
+        return adventure;
+    }
+
+    public boolean hasSpigotPlayerApi() {
+        return spigotPlayerApi;
+    }
+
+    public boolean hasWorldSetPopulators() {
+        return worldSetPopulators;
+    }
+
+    public boolean hasWorldSetViewDistance() {
+        return worldSetViewDistance;
+    }
+
+    public boolean hasChunkSetNoTick() {
+        return chunkSetNoTick;
+    }
+
+    public boolean hasChunkSetForceLoaded() {
+        return chunkSetForceLoaded;
+    }
+
+    public boolean hasChunkSetInhabitedTime() {
+        return chunkSetInhabitedTime;
+    }
+
+    /**
+     * Whether Server.getAverageTickTime (Paper) is available
+     */
+    public boolean hasServerAverageTickTime() {
+        return serverAverageTickTime;
+    }
+}
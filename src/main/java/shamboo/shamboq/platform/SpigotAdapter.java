@@ -1,33 +1,55 @@
 package shamboo.shamboq.platform;
 
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.Chunk;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.util.Counter;
 import shamboo.shamboq.util.LogLevel;
 
-import java.lang.reflect.Method;
 import java.util.List;
 
 /**
- * Platform adapter for Spigot servers
+ * Platform adapter for Spigot servers, calling the Spigot API directly
  */
 public class SpigotAdapter implements PlatformAdapter {
     private final ShamboQ plugin;
+    private final Counter actionbarSends;
 
     public SpigotAdapter(ShamboQ plugin) {
         this.plugin = plugin;
+        this.actionbarSends = plugin.getMetricsCollector().counter("actionbar_sends");
     }
 
     @Override
     public void sendActionBar(Player player, String message) {
+        send(player, TextComponent.fromLegacyText(message), message);
+    }
+
+    @Override
+    public ActionBarMessage prepareActionBar(String message) {
+        // Components are converted once for every player receiving this message
+        return new ActionBarMessage(message, TextComponent.fromLegacyText(message));
+    }
+
+    @Override
+    public void sendActionBar(Player player, ActionBarMessage message) {
+        if (message.getPayload() instanceof BaseComponent[]) {
+            send(player, (BaseComponent[]) message.getPayload(), message.getText());
+        } else {
+            sendActionBar(player, message.getText());
+        }
+    }
+
+    private void send(Player player, BaseComponent[] components, String message) {
         try {
-            // Use reflection to handle different versions
-            Method sendActionBarMethod = Player.class.getMethod("sendActionBar", String.class);
-            sendActionBarMethod.invoke(player, message);
+            player.spigot().sendMessage(ChatMessageType.ACTION_BAR, components);
 
             // Track successful action bar sends
-            plugin.getMetricsCollector().incrementCounter("actionbar_sends");
+            actionbarSends.increment();
         } catch (Exception e) {
             // Fallback in case of error
             player.sendMessage(message);
@@ -37,14 +59,12 @@ public class SpigotAdapter implements PlatformAdapter {
 
     @Override
     public void setForceLoaded(Chunk chunk, boolean value) {
-        // Not supported in base Spigot
-        plugin.logMessage("setForceLoaded not supported in Spigot", LogLevel.FINE);
+        chunk.setForceLoaded(value);
     }
 
     @Override
     public void setInhabitedTime(Chunk chunk, long time) {
-        // Not supported in base Spigot
-        plugin.logMessage("setInhabitedTime not supported in Spigot", LogLevel.FINE);
+        chunk.setInhabitedTime(time);
     }
 
     @Override
@@ -0,0 +1,197 @@
+package shamboo.shamboq.queue;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.connection.BackendCapacityTracker;
+import shamboo.shamboq.platform.ActionBarMessage;
+import shamboo.shamboq.util.Counter;
+import shamboo.shamboq.util.LogLevel;
+import shamboo.shamboq.util.TickProfiler;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Queue released by free slots on the SMP server, in ticket order.
+ * Once per second the head of the line is released into the free slots and
+ * everybody else is shown their current position. Main thread only
+ */
+public class CapacityQueue {
+    // Positions shown exactly, further back they are rounded up to a bucket so the line shares few messages
+    private static final int EXACT_POSITIONS = 100;
+    private static final int POSITION_BUCKET = 100;
+
+    private final ShamboQ plugin;
+    private final TickProfiler.Probe probe;
+    private final Counter capacityReleased;
+    private final Counter positionRenders;
+    private final Consumer<Player> releaseAction;
+    private final WaitingLine line = new WaitingLine();
+    private BukkitTask task;
+    private int updates;
+
+    // Rendered position messages indexed by position, valid for one line size and message generation
+    private ActionBarMessage[] positionMessages = new ActionBarMessage[0];
+    private int renderedTotal = -1;
+    private int renderedGeneration = -1;
+
+    public CapacityQueue(ShamboQ plugin, Consumer<Player> releaseAction) {
+        this.plugin = plugin;
+        this.probe = plugin.getTickProfiler().probe("capacity_queue");
+        this.capacityReleased = plugin.getMetricsCollector().counter("capacity_released");
+        this.positionRenders = plugin.getMetricsCollector().counter("position_renders");
+        this.releaseAction = releaseAction;
+    }
+
+    /**
+     * Add a player to the line at the place given by their ticket
+     * @return 1-based position of the player
+     */
+    public int add(QueueTicket ticket) {
+        int position = line.add(ticket);
+        ensureTaskRunning();
+
+        // Ask for a fresh count right away instead of waiting for the next cycle
+        getCapacityTracker().requestIfStale();
+        return position;
+    }
+
+    /**
+     * Remove a player from the line
+     * @return Whether the player was waiting
+     */
+    public boolean remove(UUID playerId) {
+        return line.remove(playerId);
+    }
+
+    public boolean isWaiting(UUID playerId) {
+        return line.contains(playerId);
+    }
+
+    /**
+     * 1-based position of a player, or -1 if not waiting
+     */
+    public int getPosition(UUID playerId) {
+        return line.getPosition(playerId);
+    }
+
+    public int size() {
+        return line.size();
+    }
+
+    /**
+     * Drop the whole line and stop the update task
+     */
+    public void clear() {
+        line.clear();
+        stopTask();
+        Arrays.fill(positionMessages, null);
+        renderedTotal = -1;
+    }
+
+    private void ensureTaskRunning() {
+        if (task != null) {
+            return;
+        }
+
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                long start = probe.start();
+                try {
+                    update();
+                    if (line.isEmpty()) {
+                        stopTask();
+                    }
+                } finally {
+                    probe.stop(start);
+                }
+            }
+        }.runTaskTimer(plugin, 20L, 20L);
+    }
+
+    private void stopTask() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void update() {
+        getCapacityTracker().requestIfStale();
+
+        // Release the head of the line into the free slots
+        int free = getCapacityTracker().getFreeSlots();
+        int released = 0;
+        while (released < free && !line.isEmpty()) {
+            Player player = Bukkit.getPlayer(line.poll());
+            if (player == null || !player.isOnline()) {
+                continue;
+            }
+
+            getCapacityTracker().recordRelease();
+            released++;
+            try {
+                releaseAction.accept(player);
+            } catch (Exception e) {
+                plugin.logMessage("Error releasing player " + player.getName() + ": " + e.getMessage(), LogLevel.ERROR);
+            }
+        }
+
+        if (released > 0) {
+            capacityReleased.add(released);
+        }
+
+        // Show everybody still waiting their position, less often when the server is overloaded
+        final int total = line.size();
+        plugin.getMetricsCollector().setGauge("capacity_queue_size", total);
+        if (!plugin.getCosmeticGovernor().allowActionBar(updates++)) {
+            return;
+        }
+        line.forEachInOrder((playerId, position) -> {
+            Player player = Bukkit.getPlayer(playerId);
+            if (player != null) {
+                plugin.getVersionManager().sendActionBar(player, renderPosition(position, total));
+            }
+        });
+    }
+
+    /**
+     * Rendered position message, formatted once per shown position while the line size stays the same
+     */
+    private ActionBarMessage renderPosition(int position, int total) {
+        boolean exact = position <= EXACT_POSITIONS;
+        if (!exact) {
+            position = (position + POSITION_BUCKET - 1) / POSITION_BUCKET * POSITION_BUCKET;
+        }
+
+        int generation = plugin.getMessageManager().getGeneration();
+        if (total != renderedTotal || generation != renderedGeneration) {
+            Arrays.fill(positionMessages, null);
+            renderedTotal = total;
+            renderedGeneration = generation;
+        }
+
+        if (position >= positionMessages.length) {
+            positionMessages = Arrays.copyOf(positionMessages, Math.max(position + 1, positionMessages.length * 2));
+        }
+
+        ActionBarMessage message = positionMessages[position];
+        if (message == null) {
+            message = plugin.getVersionManager().prepareActionBar(plugin.getMessageManager()
+                    .getMessage(exact ? "queue_position" : "queue_position_approx", position, total));
+            positionMessages[position] = message;
+            positionRenders.increment();
+        }
+        return message;
+    }
+
+    private BackendCapacityTracker getCapacityTracker() {
+        // Owned by the connection handler, which is created after the queue manager
+        return plugin.getConnectionHandler().getCapacityTracker();
+    }
+}
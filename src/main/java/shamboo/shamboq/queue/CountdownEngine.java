@@ -0,0 +1,38 @@
+package shamboo.shamboq.queue;
+
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+
+/**
+ * Interface for engines driving per-player queue countdowns
+ */
+public interface CountdownEngine {
+    /**
+     * Starts (or restarts) the countdown for a player
+     * @param player Player in queue
+     * @param seconds Countdown length in seconds
+     */
+    void start(Player player, int seconds);
+
+    /**
+     * Cancels the countdown of a player
+     * @return Whether a countdown was running
+     */
+    boolean cancel(UUID playerId);
+
+    /**
+     * Checks if a countdown is running for a player
+     */
+    boolean isRunning(UUID playerId);
+
+    /**
+     * Number of running countdowns
+     */
+    int size();
+
+    /**
+     * Cancels all running countdowns
+     */
+    void cancelAll();
+}
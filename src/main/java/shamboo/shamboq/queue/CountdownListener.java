@@ -0,0 +1,21 @@
+package shamboo.shamboq.queue;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Callback for queue countdown progress, always invoked on the main thread
+ */
+public interface CountdownListener {
+    /**
+     * Called once per second while the countdown is running
+     * @param player Player in queue
+     * @param secondsLeft Seconds left until transfer
+     */
+    void onCountdownTick(Player player, int secondsLeft);
+
+    /**
+     * Called when the countdown has expired
+     * @param player Player in queue
+     */
+    void onCountdownFinished(Player player);
+}
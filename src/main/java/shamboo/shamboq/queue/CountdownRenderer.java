@@ -0,0 +1,120 @@
+package shamboo.shamboq.queue;
+
+import org.bukkit.entity.Player;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.platform.ActionBarMessage;
+import shamboo.shamboq.util.Counter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Batched countdown action bar rendering.
+ * Players submitted during a tick are grouped by remaining seconds, every distinct message
+ * is rendered once and the same payload is sent to the whole group. Main thread only
+ */
+public class CountdownRenderer {
+    private final ShamboQ plugin;
+    private final Counter countdownRenders;
+
+    // Rendered messages indexed by remaining seconds
+    private ActionBarMessage[] cache = new ActionBarMessage[0];
+    private int cacheGeneration = -1;
+
+    // Pending groups indexed by remaining seconds
+    private final List<List<Player>> groups = new ArrayList<>();
+    private final List<Integer> pendingSeconds = new ArrayList<>();
+    private boolean flushScheduled;
+
+    public CountdownRenderer(ShamboQ plugin) {
+        this.plugin = plugin;
+        this.countdownRenders = plugin.getMetricsCollector().counter("countdown_renders");
+    }
+
+    /**
+     * Queue a countdown update for a player, sent with the next flush
+     * @param player Player in queue
+     * @param secondsLeft Seconds left until transfer
+     */
+    public void submit(Player player, int secondsLeft) {
+        while (groups.size() <= secondsLeft) {
+            groups.add(new ArrayList<>());
+        }
+
+        List<Player> group = groups.get(secondsLeft);
+        if (group.isEmpty()) {
+            pendingSeconds.add(secondsLeft);
+        }
+        group.add(player);
+
+        // Flush after everything already handed to the main thread in this tick
+        if (!flushScheduled) {
+            flushScheduled = true;
+            plugin.getMainThreadInbox().post(this::flush);
+        }
+    }
+
+    /**
+     * Sends all pending countdown updates
+     */
+    public void flush() {
+        flushScheduled = false;
+
+        for (int i = 0; i < pendingSeconds.size(); i++) {
+            int secondsLeft = pendingSeconds.get(i);
+            List<Player> group = groups.get(secondsLeft);
+            ActionBarMessage message = render(secondsLeft);
+
+            for (int j = 0; j < group.size(); j++) {
+                Player player = group.get(j);
+                if (player.isOnline()) {
+                    plugin.getVersionManager().sendActionBar(player, message);
+                }
+            }
+            group.clear();
+        }
+
+        pendingSeconds.clear();
+    }
+
+    /**
+     * Get the rendered countdown message for the given remaining time
+     * @param secondsLeft Seconds left until transfer
+     * @return Rendered message, shared between all players with the same remaining time
+     */
+    public ActionBarMessage render(int secondsLeft) {
+        int generation = plugin.getMessageManager().getGeneration();
+        if (generation != cacheGeneration) {
+            Arrays.fill(cache, null);
+            cacheGeneration = generation;
+        }
+
+        if (secondsLeft >= cache.length) {
+            cache = Arrays.copyOf(cache, Math.max(secondsLeft + 1, cache.length * 2));
+        }
+
+        ActionBarMessage message = cache[secondsLeft];
+        if (message == null) {
+            message = plugin.getVersionManager().prepareActionBar(
+                    plugin.getMessageManager().getMessage("countdown", secondsLeft));
+            cache[secondsLeft] = message;
+            countdownRenders.increment();
+        }
+        return message;
+    }
+
+    /**
+     * Drop pending updates and rendered messages
+     */
+    public void clear() {
+        for (int secondsLeft : pendingSeconds) {
+            groups.get(secondsLeft).clear();
+        }
+        pendingSeconds.clear();
+        Arrays.fill(cache, null);
+
+        // A posted flush may be dropped with the inbox, the next submit has to post a new one
+        flushScheduled = false;
+    }
+}
@@ -0,0 +1,11 @@
+package shamboo.shamboq.queue;
+
+import java.util.UUID;
+
+/**
+ * Everything the queue needs to know about a joining player, resolved once from their live permissions at join
+ * @param bypass Whether the player has shamboq.bypass
+ * @param priorityTier Highest shamboq.priority.<n> tier, 0 for normal players
+ */
+public record QueueProfile(UUID playerId, boolean bypass, int priorityTier) {
+}
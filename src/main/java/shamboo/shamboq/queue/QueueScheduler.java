@@ -0,0 +1,153 @@
+package shamboo.shamboq.queue;
+
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.util.Counter;
+import shamboo.shamboq.util.LogLevel;
+import shamboo.shamboq.util.TickProfiler;
+import shamboo.shamboq.util.TimingWheel;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Single main-thread driver for all queue countdowns.
+ * Countdowns live in a timing wheel, so each tick only touches players whose countdown changes
+ */
+public class QueueScheduler implements CountdownEngine {
+    private static final int TICKS_PER_SECOND = 20;
+    private static final int FIRST_UPDATE_DELAY = 5;
+    private static final int WHEEL_SLOTS = 64;
+
+    private final ShamboQ plugin;
+    private final TickProfiler.Probe probe;
+    private final Counter countdownUpdates;
+    private final CountdownListener listener;
+    private final TimingWheel<Countdown> wheel = new TimingWheel<>(WHEEL_SLOTS);
+    private final Map<UUID, TimingWheel.Entry<Countdown>> countdowns = new HashMap<>();
+    private BukkitTask driverTask;
+
+    public QueueScheduler(ShamboQ plugin, CountdownListener listener) {
+        this.plugin = plugin;
+        this.probe = plugin.getTickProfiler().probe("scheduler");
+        this.countdownUpdates = plugin.getMetricsCollector().counter("countdown_updates");
+        this.listener = listener;
+    }
+
+    @Override
+    public void start(Player player, int seconds) {
+        cancel(player.getUniqueId());
+
+        Countdown countdown = new Countdown(player, seconds);
+        countdowns.put(player.getUniqueId(), wheel.schedule(countdown, wheel.getCurrentTick() + FIRST_UPDATE_DELAY));
+
+        ensureDriverRunning();
+    }
+
+    @Override
+    public boolean cancel(UUID playerId) {
+        TimingWheel.Entry<Countdown> entry = countdowns.remove(playerId);
+        if (entry == null) {
+            return false;
+        }
+        wheel.cancel(entry);
+        return true;
+    }
+
+    @Override
+    public boolean isRunning(UUID playerId) {
+        return countdowns.containsKey(playerId);
+    }
+
+    @Override
+    public int size() {
+        return countdowns.size();
+    }
+
+    @Override
+    public void cancelAll() {
+        countdowns.clear();
+        wheel.clear();
+        stopDriver();
+    }
+
+    private void ensureDriverRunning() {
+        if (driverTask != null) {
+            return;
+        }
+
+        driverTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                long start = probe.start();
+                try {
+                    tick();
+                } finally {
+                    probe.stop(start);
+                }
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+
+        plugin.logMessage("Started queue scheduler", LogLevel.FINE);
+    }
+
+    private void stopDriver() {
+        if (driverTask != null) {
+            driverTask.cancel();
+            driverTask = null;
+        }
+    }
+
+    private void tick() {
+        int updated = wheel.advance(this::step);
+
+        if (updated > 0) {
+            countdownUpdates.add(updated);
+        }
+
+        // Nothing left to drive - stop until the next player joins
+        if (countdowns.isEmpty()) {
+            stopDriver();
+        }
+    }
+
+    private void step(TimingWheel.Entry<Countdown> entry) {
+        Countdown countdown = entry.getItem();
+        Player player = countdown.player;
+
+        if (!player.isOnline()) {
+            countdowns.remove(player.getUniqueId(), entry);
+            return;
+        }
+
+        if (countdown.secondsLeft <= 0) {
+            countdowns.remove(player.getUniqueId(), entry);
+            listener.onCountdownFinished(player);
+            return;
+        }
+
+        listener.onCountdownTick(player, countdown.secondsLeft);
+        countdown.secondsLeft--;
+
+        // The listener may have cancelled this countdown
+        if (countdowns.get(player.getUniqueId()) == entry) {
+            wheel.reschedule(entry, wheel.getCurrentTick() + TICKS_PER_SECOND);
+        }
+    }
+
+    /**
+     * Countdown state of a single player
+     */
+    private static final class Countdown {
+        private final Player player;
+        private int secondsLeft;
+
+        private Countdown(Player player, int secondsLeft) {
+            this.player = player;
+            this.secondsLeft = secondsLeft;
+        }
+    }
+}
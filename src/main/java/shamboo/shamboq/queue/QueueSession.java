@@ -0,0 +1,201 @@
+package shamboo.shamboq.queue;
+
+import org.bukkit.GameMode;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * All queue and connection state of a single player.
+ * Sessions live in one concurrent map keyed by player UUID, state changes go through
+ * compare-and-set transitions so the main thread and queue threads cannot act on the same step twice
+ */
+public final class QueueSession {
+
+    /**
+     * Lifecycle of a session
+     */
+    public enum State {
+        // Being set up (teleport, game mode, visibility)
+        JOINING,
+        // Frozen in the lobby, waiting for the countdown or a free slot
+        WAITING,
+        // Waiting at the release gate
+        RELEASING,
+        // Connect message sent, waiting for the transfer
+        CONNECTING,
+        // Connection failed, retry scheduled
+        RETRY_WAIT,
+        // Removed from the queue, the session is no longer in the map
+        DONE
+    }
+
+    private final UUID playerId;
+    private final QueueTicket ticket;
+    private final AtomicReference<State> state;
+    private final long createdTime = System.currentTimeMillis();
+
+    // Settings restored when the player leaves the queue
+    private volatile GameMode originalGameMode;
+    private volatile int originalViewDistance = -1;
+
+    // Connection attempts
+    private volatile String targetServer;
+    private final AtomicInteger attemptCount = new AtomicInteger();
+    private volatile long firstAttemptTime;
+    private volatile long lastAttemptTime;
+
+    /**
+     * @param playerId Player UUID
+     * @param ticket Place in the queue, or null for players sent without queueing
+     * @param initialState First state of the session
+     */
+    public QueueSession(UUID playerId, QueueTicket ticket, State initialState) {
+        this.playerId = playerId;
+        this.ticket = ticket;
+        this.state = new AtomicReference<>(initialState);
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * Place in the queue, or null for players sent without queueing
+     */
+    public QueueTicket getTicket() {
+        return ticket;
+    }
+
+    /**
+     * Whether the player is frozen in the lobby by the queue
+     */
+    public boolean isQueued() {
+        return ticket != null && state.get() != State.DONE;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * Move to the next state if the session is still in the expected one
+     * @return Whether the transition happened
+     */
+    public boolean transition(State expected, State next) {
+        return state.compareAndSet(expected, next);
+    }
+
+    /**
+     * Move to the next state from any state except DONE
+     * @return Whether the transition happened
+     */
+    public boolean moveTo(State next) {
+        State current;
+        do {
+            current = state.get();
+            if (current == State.DONE) {
+                return false;
+            }
+        } while (!state.compareAndSet(current, next));
+        return true;
+    }
+
+    /**
+     * End the session
+     * @return Whether the session was still active
+     */
+    public boolean finish() {
+        return state.getAndSet(State.DONE) != State.DONE;
+    }
+
+    /**
+     * Whether a connection to the target server is in progress (sent or waiting for a retry)
+     */
+    public boolean isConnecting() {
+        State current = state.get();
+        return current == State.CONNECTING || current == State.RETRY_WAIT;
+    }
+
+    /**
+     * Record a new connect message and move to CONNECTING
+     * @param server Target server
+     * @return Number of the attempt, starting at 1
+     */
+    public int beginAttempt(String server) {
+        targetServer = server;
+        lastAttemptTime = System.currentTimeMillis();
+        int attempt = attemptCount.incrementAndGet();
+        if (attempt == 1) {
+            firstAttemptTime = lastAttemptTime;
+        }
+        moveTo(State.CONNECTING);
+        return attempt;
+    }
+
+    public String getTargetServer() {
+        return targetServer;
+    }
+
+    public int getAttemptCount() {
+        return attemptCount.get();
+    }
+
+    /**
+     * Time the session was opened, in milliseconds
+     */
+    public long getCreatedTime() {
+        return createdTime;
+    }
+
+    /**
+     * Time of the first connect message, 0 if none was sent yet
+     */
+    public long getFirstAttemptTime() {
+        return firstAttemptTime;
+    }
+
+    public long getLastAttemptTime() {
+        return lastAttemptTime;
+    }
+
+    public GameMode getOriginalGameMode() {
+        return originalGameMode;
+    }
+
+    public void setOriginalGameMode(GameMode originalGameMode) {
+        this.originalGameMode = originalGameMode;
+    }
+
+    /**
+     * Take the saved game mode so it is restored only once
+     * @return Saved game mode, or null if none
+     */
+    public GameMode takeOriginalGameMode() {
+        GameMode mode = originalGameMode;
+        originalGameMode = null;
+        return mode;
+    }
+
+    /**
+     * Saved view distance, or -1 if none
+     */
+    public int getOriginalViewDistance() {
+        return originalViewDistance;
+    }
+
+    public void setOriginalViewDistance(int originalViewDistance) {
+        this.originalViewDistance = originalViewDistance;
+    }
+
+    /**
+     * Take the saved view distance so it is restored only once
+     * @return Saved view distance, or -1 if none
+     */
+    public int takeOriginalViewDistance() {
+        int distance = originalViewDistance;
+        originalViewDistance = -1;
+        return distance;
+    }
+}
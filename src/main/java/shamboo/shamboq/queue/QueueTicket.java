@@ -0,0 +1,16 @@
+package shamboo.shamboq.queue;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Place of a player in the queue.
+ * Tickets are ordered by priority key, which is the join time moved back by a head start per
+ * priority tier - higher tiers go first, but a lower tier that has waited longer than the head start
+ * still goes ahead of them, so no tier can be starved. Ties are broken by join sequence
+ */
+public record QueueTicket(UUID playerId, int tier, long priorityKey, long sequence) {
+    public static final Comparator<QueueTicket> ORDER = Comparator
+            .comparingLong(QueueTicket::priorityKey)
+            .thenComparingLong(QueueTicket::sequence);
+}
@@ -0,0 +1,142 @@
+package shamboo.shamboq.queue;
+
+import org.bukkit.entity.Player;
+import shamboo.shamboq.ShamboQ;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Countdown engine for the dedicated thread pool.
+ * Every countdown step is a scheduled deadline, so no pool thread is ever blocked while waiting
+ */
+public class ScheduledCountdownEngine implements CountdownEngine {
+    private static final long FIRST_UPDATE_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long STEP_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ShamboQ plugin;
+    private final CountdownListener listener;
+    private final ScheduledExecutorService executor;
+    private final Map<UUID, Countdown> countdowns = new ConcurrentHashMap<>();
+
+    public ScheduledCountdownEngine(ShamboQ plugin, CountdownListener listener, ScheduledExecutorService executor) {
+        this.plugin = plugin;
+        this.listener = listener;
+        this.executor = executor;
+    }
+
+    @Override
+    public void start(Player player, int seconds) {
+        Countdown countdown = new Countdown(player, seconds, System.nanoTime() + FIRST_UPDATE_DELAY_NANOS);
+        Countdown previous = countdowns.put(player.getUniqueId(), countdown);
+        if (previous != null) {
+            previous.cancel();
+        }
+        scheduleNext(countdown);
+    }
+
+    @Override
+    public boolean cancel(UUID playerId) {
+        Countdown countdown = countdowns.remove(playerId);
+        if (countdown == null) {
+            return false;
+        }
+        countdown.cancel();
+        return true;
+    }
+
+    @Override
+    public boolean isRunning(UUID playerId) {
+        return countdowns.containsKey(playerId);
+    }
+
+    @Override
+    public int size() {
+        return countdowns.size();
+    }
+
+    @Override
+    public void cancelAll() {
+        for (Countdown countdown : countdowns.values()) {
+            countdown.cancel();
+        }
+        countdowns.clear();
+    }
+
+    private void scheduleNext(Countdown countdown) {
+        if (countdown.cancelled || executor.isShutdown()) {
+            return;
+        }
+
+        // Deadlines are derived from the start time, so late runs never push later steps back
+        long deadline = countdown.startNanos + countdown.step * STEP_NANOS;
+        long delay = Math.max(0L, deadline - System.nanoTime());
+        countdown.future = executor.schedule(() -> fire(countdown), delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void fire(Countdown countdown) {
+        if (countdown.cancelled) {
+            return;
+        }
+
+        final int secondsLeft = countdown.seconds - countdown.step;
+        countdown.step++;
+
+        // Player state must only be touched from the main thread
+        plugin.getMainThreadInbox().post(() -> deliver(countdown, secondsLeft));
+
+        if (secondsLeft > 0) {
+            scheduleNext(countdown);
+        }
+    }
+
+    private void deliver(Countdown countdown, int secondsLeft) {
+        Player player = countdown.player;
+        if (countdown.cancelled || countdowns.get(player.getUniqueId()) != countdown) {
+            return;
+        }
+
+        if (!player.isOnline()) {
+            cancel(player.getUniqueId());
+            return;
+        }
+
+        if (secondsLeft <= 0) {
+            countdowns.remove(player.getUniqueId(), countdown);
+            listener.onCountdownFinished(player);
+            return;
+        }
+
+        listener.onCountdownTick(player, secondsLeft);
+    }
+
+    /**
+     * Countdown state of a single player
+     */
+    private static final class Countdown {
+        private final Player player;
+        private final int seconds;
+        private final long startNanos;
+        private volatile int step;
+        private volatile boolean cancelled;
+        private volatile Future<?> future;
+
+        private Countdown(Player player, int seconds, long startNanos) {
+            this.player = player;
+            this.seconds = seconds;
+            this.startNanos = startNanos;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            Future<?> pending = future;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package shamboo.shamboq.queue;
+
+import org.bukkit.entity.Player;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.util.LogLevel;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Countdown engine running every countdown on its own virtual thread.
+ * Waiting virtual threads are unmounted, so thousands of countdowns do not hold any carrier thread
+ */
+public class VirtualThreadCountdownEngine implements CountdownEngine {
+    private static final long FIRST_UPDATE_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long STEP_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ShamboQ plugin;
+    private final CountdownListener listener;
+    private final ExecutorService executor;
+    private final Map<UUID, Countdown> countdowns = new ConcurrentHashMap<>();
+
+    public VirtualThreadCountdownEngine(ShamboQ plugin, CountdownListener listener, ExecutorService executor) {
+        this.plugin = plugin;
+        this.listener = listener;
+        this.executor = executor;
+    }
+
+    @Override
+    public void start(Player player, int seconds) {
+        Countdown countdown = new Countdown(player, seconds, System.nanoTime() + FIRST_UPDATE_DELAY_NANOS);
+        Countdown previous = countdowns.put(player.getUniqueId(), countdown);
+        if (previous != null) {
+            previous.cancel();
+        }
+
+        if (!executor.isShutdown()) {
+            countdown.future = executor.submit(() -> run(countdown));
+        }
+    }
+
+    @Override
+    public boolean cancel(UUID playerId) {
+        Countdown countdown = countdowns.remove(playerId);
+        if (countdown == null) {
+            return false;
+        }
+        countdown.cancel();
+        return true;
+    }
+
+    @Override
+    public boolean isRunning(UUID playerId) {
+        return countdowns.containsKey(playerId);
+    }
+
+    @Override
+    public int size() {
+        return countdowns.size();
+    }
+
+    @Override
+    public void cancelAll() {
+        for (Countdown countdown : countdowns.values()) {
+            countdown.cancel();
+        }
+        countdowns.clear();
+    }
+
+    private void run(Countdown countdown) {
+        try {
+            for (int step = 0; step <= countdown.seconds; step++) {
+                // Deadlines are derived from the start time, so a late wake-up never delays later steps
+                long deadline = countdown.startNanos + step * STEP_NANOS;
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(remaining);
+                    if (countdown.cancelled || Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                }
+
+                if (countdown.cancelled) {
+                    return;
+                }
+
+                final int secondsLeft = countdown.seconds - step;
+                // Player state must only be touched from the main thread
+                plugin.getMainThreadInbox().post(() -> deliver(countdown, secondsLeft));
+            }
+        } catch (Exception e) {
+            plugin.logMessage("Error in queue thread: " + e.getMessage(), LogLevel.ERROR);
+        }
+    }
+
+    private void deliver(Countdown countdown, int secondsLeft) {
+        Player player = countdown.player;
+        if (countdown.cancelled || countdowns.get(player.getUniqueId()) != countdown) {
+            return;
+        }
+
+        if (!player.isOnline()) {
+            cancel(player.getUniqueId());
+            return;
+        }
+
+        if (secondsLeft <= 0) {
+            countdowns.remove(player.getUniqueId(), countdown);
+            listener.onCountdownFinished(player);
+            return;
+        }
+
+        listener.onCountdownTick(player, secondsLeft);
+    }
+
+    /**
+     * Countdown state of a single player
+     */
+    private static final class Countdown {
+        private final Player player;
+        private final int seconds;
+        private final long startNanos;
+        private volatile boolean cancelled;
+        private volatile Future<?> future;
+
+        private Countdown(Player player, int seconds, long startNanos) {
+            this.player = player;
+            this.seconds = seconds;
+            this.startNanos = startNanos;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            Future<?> pending = future;
+            if (pending != null) {
+                pending.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package shamboo.shamboq.queue;
+
+import shamboo.shamboq.util.OrderStatisticTree;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Line of waiting players ordered by ticket, with O(log n) join, leave and position lookups.
+ * Main thread only
+ */
+public class WaitingLine {
+    private final Map<UUID, QueueTicket> tickets = new HashMap<>();
+    private final OrderStatisticTree<QueueTicket> order = new OrderStatisticTree<>(QueueTicket.ORDER);
+
+    /**
+     * Add a player to the line at the place given by the ticket
+     * @return 1-based position of the player (existing position if already waiting)
+     */
+    public int add(QueueTicket ticket) {
+        QueueTicket existing = tickets.putIfAbsent(ticket.playerId(), ticket);
+        if (existing != null) {
+            ticket = existing;
+        } else {
+            order.insert(ticket);
+        }
+        return order.rank(ticket) + 1;
+    }
+
+    /**
+     * Remove a player from the line
+     * @return Whether the player was waiting
+     */
+    public boolean remove(UUID playerId) {
+        QueueTicket ticket = tickets.remove(playerId);
+        return ticket != null && order.remove(ticket);
+    }
+
+    public boolean contains(UUID playerId) {
+        return tickets.containsKey(playerId);
+    }
+
+    /**
+     * 1-based position of a player, or -1 if not waiting
+     */
+    public int getPosition(UUID playerId) {
+        QueueTicket ticket = tickets.get(playerId);
+        if (ticket == null) {
+            return -1;
+        }
+        return order.rank(ticket) + 1;
+    }
+
+    /**
+     * Player at the head of the line, or null if empty
+     */
+    public UUID peek() {
+        QueueTicket ticket = order.first();
+        return ticket != null ? ticket.playerId() : null;
+    }
+
+    /**
+     * Remove and return the player at the head of the line, or null if empty
+     */
+    public UUID poll() {
+        QueueTicket ticket = order.pollFirst();
+        if (ticket == null) {
+            return null;
+        }
+        tickets.remove(ticket.playerId());
+        return ticket.playerId();
+    }
+
+    /**
+     * Visit all waiting players in order together with their 1-based position
+     */
+    public void forEachInOrder(ObjIntConsumer<UUID> action) {
+        order.forEachInOrder((ticket, index) -> action.accept(ticket.playerId(), index + 1));
+    }
+
+    public int size() {
+        return tickets.size();
+    }
+
+    public boolean isEmpty() {
+        return tickets.isEmpty();
+    }
+
+    public void clear() {
+        tickets.clear();
+        order.clear();
+    }
+}
@@ -0,0 +1,42 @@
+package shamboo.shamboq.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter handle registered once in the MetricsCollector.
+ * Backed by a LongAdder so increments from many threads do not contend on a single value
+ */
+public final class Counter {
+    private final String name;
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    /**
+     * @param amount Value to increment by
+     */
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    /**
+     * Current value, the sum of all cells
+     */
+    public long get() {
+        return value.sum();
+    }
+
+    void reset() {
+        value.reset();
+    }
+}
@@ -0,0 +1,114 @@
+package shamboo.shamboq.util;
+
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import shamboo.shamboq.ShamboQ;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free inbox for work that has to run on the main thread.
+ * Any thread may post commands, one repeating main-thread task drains them in bounded batches
+ */
+public class MainThreadInbox {
+    private final ShamboQ plugin;
+    private final TickProfiler.Probe probe;
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private volatile int batchSize;
+    private final Counter inboxDrained;
+    private BukkitTask drainTask;
+
+    public MainThreadInbox(ShamboQ plugin, int batchSize) {
+        this.plugin = plugin;
+        this.probe = plugin.getTickProfiler().probe("inbox");
+        this.batchSize = Math.max(1, batchSize);
+        this.inboxDrained = plugin.getMetricsCollector().counter("inbox_drained");
+    }
+
+    /**
+     * Change the number of commands run per tick, picked up on the next tick
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Post a command to be run on the main thread
+     * @param command Command to run
+     */
+    public void post(Runnable command) {
+        commands.offer(command);
+        depth.incrementAndGet();
+    }
+
+    /**
+     * Starts the repeating drain task
+     */
+    public void start() {
+        if (drainTask != null) {
+            return;
+        }
+
+        drainTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                long start = probe.start();
+                try {
+                    drain();
+                } finally {
+                    probe.stop(start);
+                }
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+
+        plugin.logMessage("Started main thread inbox (batch size: " + batchSize + ")", LogLevel.FINE);
+    }
+
+    /**
+     * Stops the drain task and drops pending commands
+     */
+    public void stop() {
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+        commands.clear();
+        depth.set(0);
+    }
+
+    /**
+     * Runs at most one batch of pending commands
+     * @return Number of commands run
+     */
+    public int drain() {
+        if (depth.get() == 0) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        int drained = 0;
+        Runnable command;
+        while (drained < batchSize && (command = commands.poll()) != null) {
+            depth.decrementAndGet();
+            drained++;
+            try {
+                command.run();
+            } catch (Exception e) {
+                plugin.logMessage("Error in main thread command: " + e.getMessage(), LogLevel.ERROR);
+            }
+        }
+
+        MetricsCollector metrics = plugin.getMetricsCollector();
+        inboxDrained.add(drained);
+        metrics.setGauge("inbox_depth", depth.get());
+        metrics.setGauge("inbox_drain_nanos", System.nanoTime() - start);
+        return drained;
+    }
+
+    public int getDepth() {
+        return depth.get();
+    }
+}
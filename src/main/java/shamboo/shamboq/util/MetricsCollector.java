@@ -1,22 +1,62 @@
 package shamboo.shamboq.util;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 
 /**
- * Collection of metrics for monitoring plugin performance
+ * Collection of metrics for monitoring plugin performance.
+ * Subsystems register their counters once and keep the handles, the name based methods are
+ * a slower path kept for rarely used metrics
  */
 public class MetricsCollector {
-    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> gauges = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Get or register a counter handle
+     * @param name Counter name
+     * @return Counter handle, the same instance for every call with this name
+     */
+    public Counter counter(String name) {
+        Counter counter = counters.get(name);
+        return counter != null ? counter : counters.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * Get or register a histogram handle
+     * @param name Histogram name, including the unit (e.g. queue_wait_ms)
+     * @return Histogram handle, the same instance for every call with this name
+     */
+    public Histogram histogram(String name) {
+        Histogram histogram = histograms.get(name);
+        return histogram != null ? histogram : histograms.computeIfAbsent(name, Histogram::new);
+    }
+
+    /**
+     * Live view of all registered counter handles
+     */
+    Collection<Counter> getCounterHandles() {
+        return counters.values();
+    }
+
+    /**
+     * All registered histograms, sorted by name
+     */
+    public Map<String, Histogram> getHistograms() {
+        return Collections.unmodifiableMap(new TreeMap<>(histograms));
+    }
 
     /**
      * Increment a counter by name
      * @param name Counter name
      */
     public void incrementCounter(String name) {
-        counters.computeIfAbsent(name, k -> new AtomicLong()).incrementAndGet();
+        counter(name).increment();
     }
 
     /**
@@ -25,7 +65,7 @@ public class MetricsCollector {
      * @param value Value to increment by
      */
     public void incrementCounter(String name, long value) {
-        counters.computeIfAbsent(name, k -> new AtomicLong()).addAndGet(value);
+        counter(name).add(value);
     }
 
     /**
@@ -34,23 +74,83 @@ public class MetricsCollector {
      * @return Current value of the counter
      */
     public long getCounter(String name) {
-        return counters.getOrDefault(name, new AtomicLong()).get();
+        Counter counter = counters.get(name);
+        return counter != null ? counter.get() : 0L;
+    }
+
+    /**
+     * Set a gauge to its current value
+     * @param name Gauge name
+     * @param value Current value
+     */
+    public void setGauge(String name, long value) {
+        AtomicLong gauge = gauges.get(name);
+        if (gauge == null) {
+            gauge = gauges.computeIfAbsent(name, k -> new AtomicLong());
+        }
+        gauge.set(value);
     }
 
     /**
-     * Get all metrics as a map
+     * Get the value of a gauge
+     * @param name Gauge name
+     * @return Last value of the gauge
+     */
+    public long getGauge(String name) {
+        AtomicLong gauge = gauges.get(name);
+        return gauge != null ? gauge.get() : 0L;
+    }
+
+    /**
+     * Immutable snapshot of all metrics (counters and gauges), sorted by name.
+     * Every value is read once, so the snapshot does not change while it is being printed
+     * @return Map of metric names to values
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> metrics = new TreeMap<>();
+        counters.forEach((name, counter) -> metrics.put(name, counter.get()));
+        gauges.forEach((name, gauge) -> metrics.put(name, gauge.get()));
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Snapshot of all counters, sorted by name
+     */
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Snapshot of all gauges, sorted by name
+     */
+    public Map<String, Long> getGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.get()));
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Get all metrics (counters and gauges) as a map
      * @return Map of metric names to values
      */
     public Map<String, Long> getAllMetrics() {
-        return counters.entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get()));
+        return snapshot();
     }
 
     /**
-     * Reset all counters
+     * Reset all counters, registered handles stay valid
      */
     public void resetCounters() {
-        counters.clear();
+        counters.values().forEach(Counter::reset);
+    }
+
+    /**
+     * Reset all histograms, registered handles stay valid
+     */
+    public void resetHistograms() {
+        histograms.values().forEach(Histogram::reset);
     }
 
     /**
@@ -58,6 +158,9 @@ public class MetricsCollector {
      * @param name Counter name
      */
     public void resetCounter(String name) {
-        counters.remove(name);
+        Counter counter = counters.get(name);
+        if (counter != null) {
+            counter.reset();
+        }
     }
-}
\ No newline at end of file
+}
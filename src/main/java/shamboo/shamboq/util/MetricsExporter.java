@@ -0,0 +1,172 @@
+package shamboo.shamboq.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.queue.QueueSession;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Optional HTTP endpoint serving all metrics in Prometheus text format.
+ * Bound to the loopback address only, scrapes are answered on the exporter thread from a snapshot of
+ * the MetricsCollector and never touch Bukkit state - gauges read from the server are sampled on the main thread
+ */
+public class MetricsExporter {
+    private static final String PREFIX = "shamboq_";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final ShamboQ plugin;
+    private HttpServer server;
+    private ExecutorService executor;
+    private BukkitTask gaugeTask;
+
+    public MetricsExporter(ShamboQ plugin) {
+        this.plugin = plugin;
+        plugin.getConfig().addDefault("metrics.exporter.enabled", false);
+        plugin.getConfig().addDefault("metrics.exporter.port", 9464);
+        plugin.getConfig().options().copyDefaults(true);
+        plugin.saveConfig();
+    }
+
+    /**
+     * Starts the endpoint if it is enabled in the config
+     */
+    public void start() {
+        stop();
+        if (!plugin.getConfig().getBoolean("metrics.exporter.enabled")) {
+            return;
+        }
+
+        int port = plugin.getConfig().getInt("metrics.exporter.port");
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            plugin.logMessage("Failed to start metrics exporter on port " + port + ": " + e.getMessage(), LogLevel.ERROR);
+            server = null;
+            return;
+        }
+
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ShamboQ-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handleScrape);
+        server.start();
+
+        // Server state is read on the main thread once per second
+        gaugeTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                updateGauges();
+            }
+        }.runTaskTimer(plugin, 20L, 20L);
+
+        plugin.logMessage("Metrics exporter listening on " + server.getAddress() + "/metrics", LogLevel.INFO);
+    }
+
+    /**
+     * Stops the endpoint and its thread
+     */
+    public void stop() {
+        if (gaugeTask != null) {
+            gaugeTask.cancel();
+            gaugeTask = null;
+        }
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    private void updateGauges() {
+        MetricsCollector metrics = plugin.getMetricsCollector();
+        metrics.setGauge("queue_players", plugin.getQueueManager().getFrozenPlayers().size());
+
+        int connecting = 0;
+        for (QueueSession session : plugin.getQueueManager().getSessions()) {
+            if (session.isConnecting()) {
+                connecting++;
+            }
+        }
+        metrics.setGauge("connections_in_progress", connecting);
+    }
+
+    private void handleScrape(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = render(plugin.getMetricsCollector()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Renders a snapshot of all metrics in Prometheus text format
+     */
+    static String render(MetricsCollector metrics) {
+        StringBuilder out = new StringBuilder(4096);
+
+        for (Map.Entry<String, Long> entry : metrics.getCounters().entrySet()) {
+            String name = PREFIX + sanitize(entry.getKey()) + "_total";
+            out.append("# TYPE ").append(name).append(" counter\n");
+            out.append(name).append(' ').append(entry.getValue()).append('\n');
+        }
+
+        for (Map.Entry<String, Long> entry : metrics.getGauges().entrySet()) {
+            String name = PREFIX + sanitize(entry.getKey());
+            out.append("# TYPE ").append(name).append(" gauge\n");
+            out.append(name).append(' ').append(entry.getValue()).append('\n');
+        }
+
+        for (Map.Entry<String, Histogram> entry : metrics.getHistograms().entrySet()) {
+            String name = PREFIX + sanitize(entry.getKey());
+            Histogram histogram = entry.getValue();
+            out.append("# TYPE ").append(name).append(" summary\n");
+            for (double quantile : QUANTILES) {
+                out.append(name).append("{quantile=\"").append(quantile).append("\"} ")
+                        .append(histogram.getValueAtPercentile(quantile * 100)).append('\n');
+            }
+            out.append(name).append("_sum ").append(histogram.getSum()).append('\n');
+            out.append(name).append("_count ").append(histogram.getCount()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String sanitize(String name) {
+        StringBuilder sanitized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            sanitized.append(Character.isLetterOrDigit(c) || c == '_' ? c : '_');
+        }
+        return sanitized.toString();
+    }
+}
@@ -0,0 +1,229 @@
+package shamboo.shamboq.util;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Sorted set with O(log n) insert, remove, rank and select (size-augmented treap).
+ * Not thread-safe - meant to be used from a single thread
+ */
+public class OrderStatisticTree<K> {
+    private final Comparator<? super K> comparator;
+    private Node<K> root;
+    private int seed = 0x2545F491;
+
+    public OrderStatisticTree(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Insert a key
+     * @return Whether the key was added (false if already present)
+     */
+    public boolean insert(K key) {
+        if (contains(key)) {
+            return false;
+        }
+        Node<K>[] parts = split(root, key, false);
+        root = merge(merge(parts[0], new Node<>(key, nextPriority())), parts[1]);
+        return true;
+    }
+
+    /**
+     * Remove a key
+     * @return Whether the key was present
+     */
+    public boolean remove(K key) {
+        if (!contains(key)) {
+            return false;
+        }
+        Node<K>[] lower = split(root, key, false);
+        Node<K>[] upper = split(lower[1], key, true);
+        root = merge(lower[0], upper[1]);
+        return true;
+    }
+
+    public boolean contains(K key) {
+        Node<K> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(key, node.key);
+            if (cmp == 0) {
+                return true;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Number of keys strictly smaller than the given key (0-based position)
+     * @return Rank of the key, or -1 if the key is not present
+     */
+    public int rank(K key) {
+        int rank = 0;
+        Node<K> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(key, node.key);
+            if (cmp == 0) {
+                return rank + size(node.left);
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Key at the given 0-based position
+     * @return Key, or null if the index is out of range
+     */
+    public K select(int index) {
+        if (index < 0 || index >= size()) {
+            return null;
+        }
+        Node<K> node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.key;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Smallest key, or null if empty
+     */
+    public K first() {
+        Node<K> node = root;
+        if (node == null) {
+            return null;
+        }
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node.key;
+    }
+
+    /**
+     * Remove and return the smallest key, or null if empty
+     */
+    public K pollFirst() {
+        K key = first();
+        if (key != null) {
+            remove(key);
+        }
+        return key;
+    }
+
+    /**
+     * Visit all keys in order together with their 0-based position
+     */
+    public void forEachInOrder(ObjIntConsumer<K> action) {
+        Deque<Node<K>> stack = new ArrayDeque<>();
+        Node<K> node = root;
+        int index = 0;
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            action.accept(node.key, index++);
+            node = node.right;
+        }
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Split a subtree into keys before the given key and the rest.
+     * With inclusive set, keys equal to the given key go to the left part
+     */
+    @SuppressWarnings("unchecked")
+    private Node<K>[] split(Node<K> node, K key, boolean inclusive) {
+        if (node == null) {
+            return (Node<K>[]) new Node[]{null, null};
+        }
+        int cmp = comparator.compare(node.key, key);
+        if (cmp < 0 || (inclusive && cmp == 0)) {
+            Node<K>[] parts = split(node.right, key, inclusive);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        Node<K>[] parts = split(node.left, key, inclusive);
+        node.left = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+
+    private Node<K> merge(Node<K> left, Node<K> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static int size(Node<?> node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static void update(Node<?> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private int nextPriority() {
+        // xorshift - cheap pseudo-random heap priorities keep the tree balanced in expectation
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private static final class Node<K> {
+        private final K key;
+        private final int priority;
+        private int size = 1;
+        private Node<K> left;
+        private Node<K> right;
+
+        private Node(K key, int priority) {
+            this.key = key;
+            this.priority = priority;
+        }
+    }
+}
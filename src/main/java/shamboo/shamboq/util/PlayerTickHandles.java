@@ -0,0 +1,144 @@
+package shamboo.shamboq.util;
+
+import org.bukkit.entity.Player;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Cached handles for pausing player ticks through server internals.
+ * The getHandle method and the tick field are looked up once per runtime class, classes without
+ * them are remembered as unavailable instead of being probed again on every join
+ */
+public final class PlayerTickHandles {
+    // Field names used by different server versions, checked in order
+    private static final String[] FIELD_NAMES = {"frozen", "ticksDisabled", "noTickTime"};
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    // (Object) -> Object getHandle() per player class, null if unavailable
+    private static final ClassValue<MethodHandle> HANDLE_GETTERS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                Method method = type.getMethod("getHandle");
+                return LOOKUP.unreflect(method).asType(MethodType.methodType(Object.class, Object.class));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+    };
+
+    // Tick field per server player class, UNAVAILABLE if there is none
+    private static final ClassValue<TickField> TICK_FIELDS = new ClassValue<>() {
+        @Override
+        protected TickField computeValue(Class<?> type) {
+            return TickField.resolve(type);
+        }
+    };
+
+    private PlayerTickHandles() {
+    }
+
+    /**
+     * Resolves the handles for a player implementation class ahead of the first join
+     * @param playerClass Server implementation of Player (CraftPlayer)
+     * @return Whether tick pausing is available for that class
+     */
+    public static boolean warmUp(Class<?> playerClass) {
+        MethodHandle getter = HANDLE_GETTERS.get(playerClass);
+        if (getter == null) {
+            return false;
+        }
+        try {
+            Class<?> handleType = playerClass.getMethod("getHandle").getReturnType();
+            return TICK_FIELDS.get(handleType) != TickField.UNAVAILABLE;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Pauses or resumes ticking of a player
+     * @return Whether the tick field was set
+     */
+    public static boolean setPaused(Player player, boolean paused) {
+        MethodHandle getter = HANDLE_GETTERS.get(player.getClass());
+        if (getter == null) {
+            return false;
+        }
+
+        try {
+            Object handle = (Object) getter.invokeExact((Object) player);
+            if (handle == null) {
+                return false;
+            }
+            return TICK_FIELDS.get(handle.getClass()).set(handle, paused);
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * Writable tick field of a server player class
+     */
+    private static final class TickField {
+        private static final TickField UNAVAILABLE = new TickField(null, null);
+
+        private final VarHandle handle;
+        private final Class<?> type;
+
+        private TickField(VarHandle handle, Class<?> type) {
+            this.handle = handle;
+            this.type = type;
+        }
+
+        private static TickField resolve(Class<?> owner) {
+            for (String name : FIELD_NAMES) {
+                try {
+                    Field field = owner.getDeclaredField(name);
+                    Class<?> type = field.getType();
+                    if (Modifier.isFinal(field.getModifiers()) || Modifier.isStatic(field.getModifiers()) ||
+                            (type != boolean.class && type != int.class && type != long.class)) {
+                        continue;
+                    }
+                    return new TickField(findVarHandle(owner, field), type);
+                } catch (NoSuchFieldException e) {
+                    // Try the next name
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    return UNAVAILABLE;
+                }
+            }
+            return UNAVAILABLE;
+        }
+
+        private static VarHandle findVarHandle(Class<?> owner, Field field) throws IllegalAccessException {
+            try {
+                return MethodHandles.privateLookupIn(owner, LOOKUP).unreflectVarHandle(field);
+            } catch (IllegalAccessException e) {
+                // Module not open to us - fall back to an accessible field
+                field.setAccessible(true);
+                return LOOKUP.unreflectVarHandle(field);
+            }
+        }
+
+        private boolean set(Object target, boolean paused) {
+            if (handle == null) {
+                return false;
+            }
+
+            if (type == boolean.class) {
+                handle.set(target, paused);
+            } else if (type == int.class) {
+                handle.set(target, paused ? Integer.MAX_VALUE : 0);
+            } else {
+                handle.set(target, paused ? Long.MAX_VALUE : 0L);
+            }
+            return true;
+        }
+    }
+}
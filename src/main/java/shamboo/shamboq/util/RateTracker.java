@@ -0,0 +1,188 @@
+package shamboo.shamboq.util;
+
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import shamboo.shamboq.ShamboQ;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-second view of the lifetime counters.
+ * Every counter is sampled once per second into a preallocated ring of the last minute and
+ * folded into 1, 5 and 15 minute EWMA rates, so memory does not grow with uptime
+ */
+public class RateTracker {
+    // Seconds kept in the ring of every counter
+    public static final int WINDOW = 60;
+    private static final char[] SPARKS = {'▁', '▂', '▃', '▄', '▅', '▆', '▇', '█'};
+
+    private final ShamboQ plugin;
+    private final Map<String, Series> series = new HashMap<>();
+    private BukkitTask task;
+    private long lastSampleNanos;
+
+    public RateTracker(ShamboQ plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts sampling once per second
+     */
+    public void start() {
+        if (task != null) {
+            return;
+        }
+
+        lastSampleNanos = System.nanoTime();
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                sample();
+            }
+        }.runTaskTimer(plugin, 20L, 20L);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Takes one sample of every counter. The EWMA uses the real elapsed time, so a lagging server
+     * does not inflate the rates
+     */
+    void sample() {
+        long now = System.nanoTime();
+        double elapsedSeconds = Math.max(0.001, (now - lastSampleNanos) / 1_000_000_000.0);
+        lastSampleNanos = now;
+
+        for (Counter counter : plugin.getMetricsCollector().getCounterHandles()) {
+            series.computeIfAbsent(counter.getName(), name -> new Series(counter.get()))
+                    .sample(counter.get(), elapsedSeconds);
+        }
+    }
+
+    /**
+     * Rates of all counters that changed in the last 15 minutes, sorted by name
+     */
+    public Map<String, Series> getActiveSeries() {
+        Map<String, Series> active = new TreeMap<>();
+        series.forEach((name, value) -> {
+            if (value.isActive()) {
+                active.put(name, value);
+            }
+        });
+        return Collections.unmodifiableMap(active);
+    }
+
+    /**
+     * Rates of a single counter, or null if it was not sampled yet
+     */
+    public Series getSeries(String name) {
+        return series.get(name);
+    }
+
+    /**
+     * Ring of per-second deltas and EWMA rates of one counter
+     */
+    public static final class Series {
+        private static final double M1 = 60.0;
+        private static final double M5 = 300.0;
+        private static final double M15 = 900.0;
+
+        private final long[] ring = new long[WINDOW];
+        private int head;
+        private long lastValue;
+        private double rate1;
+        private double rate5;
+        private double rate15;
+
+        private Series(long initialValue) {
+            this.lastValue = initialValue;
+        }
+
+        private void sample(long value, double elapsedSeconds) {
+            // A reset counter starts over from its new value
+            long delta = value >= lastValue ? value - lastValue : value;
+            lastValue = value;
+
+            ring[head] = delta;
+            head = (head + 1) % WINDOW;
+
+            double rate = delta / elapsedSeconds;
+            rate1 += alpha(elapsedSeconds, M1) * (rate - rate1);
+            rate5 += alpha(elapsedSeconds, M5) * (rate - rate5);
+            rate15 += alpha(elapsedSeconds, M15) * (rate - rate15);
+        }
+
+        private static double alpha(double elapsedSeconds, double windowSeconds) {
+            return 1.0 - Math.exp(-elapsedSeconds / windowSeconds);
+        }
+
+        /**
+         * 1 minute EWMA rate per second
+         */
+        public double getRate1() {
+            return rate1;
+        }
+
+        /**
+         * 5 minute EWMA rate per second
+         */
+        public double getRate5() {
+            return rate5;
+        }
+
+        /**
+         * 15 minute EWMA rate per second
+         */
+        public double getRate15() {
+            return rate15;
+        }
+
+        /**
+         * Sum of the deltas in the last minute
+         */
+        public long getLastMinute() {
+            long total = 0;
+            for (long delta : ring) {
+                total += delta;
+            }
+            return total;
+        }
+
+        private boolean isActive() {
+            return rate15 > 0.0005 || getLastMinute() > 0;
+        }
+
+        /**
+         * Sparkline of the last minute, oldest second first
+         * @param width Number of characters, every character covers WINDOW / width seconds
+         */
+        public String sparkline(int width) {
+            int columns = Math.max(1, Math.min(width, WINDOW));
+            int perColumn = WINDOW / columns;
+            long[] sums = new long[columns];
+            long max = 0;
+            for (int column = 0; column < columns; column++) {
+                for (int i = 0; i < perColumn; i++) {
+                    // head points at the oldest slot
+                    sums[column] += ring[(head + column * perColumn + i) % WINDOW];
+                }
+                max = Math.max(max, sums[column]);
+            }
+
+            StringBuilder line = new StringBuilder(columns);
+            for (long sum : sums) {
+                int level = max == 0 ? 0 : (int) ((sum * (SPARKS.length - 1) + max - 1) / max);
+                line.append(SPARKS[level]);
+            }
+            return line.toString();
+        }
+    }
+}
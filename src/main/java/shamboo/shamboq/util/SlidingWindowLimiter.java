@@ -0,0 +1,77 @@
+package shamboo.shamboq.util;
+
+/**
+ * Sliding window rate limiter - at most a number of events within any window of the given length.
+ * Keeps the times of the last allowed events in a ring, so memory is fixed by the limit. Thread-safe
+ */
+public class SlidingWindowLimiter {
+    private long windowNanos;
+    private long[] events;
+    // Index of the oldest recorded event, and number of recorded events
+    private int head;
+    private int size;
+
+    /**
+     * @param maxEvents Events allowed within one window
+     * @param windowNanos Window length in nanoseconds
+     */
+    public SlidingWindowLimiter(int maxEvents, long windowNanos) {
+        configure(maxEvents, windowNanos);
+    }
+
+    /**
+     * Change the limit, forgetting recorded events
+     */
+    public synchronized void configure(int maxEvents, long windowNanos) {
+        this.windowNanos = Math.max(1L, windowNanos);
+        this.events = new long[Math.max(1, maxEvents)];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Record an event if the window has room for it
+     * @param nowNanos Current time from System.nanoTime()
+     * @return Whether the event was allowed
+     */
+    public synchronized boolean tryAcquire(long nowNanos) {
+        expire(nowNanos);
+        if (size == events.length) {
+            return false;
+        }
+
+        events[(head + size) % events.length] = nowNanos;
+        size++;
+        return true;
+    }
+
+    /**
+     * Time until the window has room for another event, 0 if it has room now
+     */
+    public synchronized long nanosUntilAvailable(long nowNanos) {
+        expire(nowNanos);
+        if (size < events.length) {
+            return 0L;
+        }
+        return events[head] + windowNanos - nowNanos;
+    }
+
+    /**
+     * Number of events within the window ending now
+     */
+    public synchronized int getCount(long nowNanos) {
+        expire(nowNanos);
+        return size;
+    }
+
+    public synchronized int getMaxEvents() {
+        return events.length;
+    }
+
+    private void expire(long nowNanos) {
+        while (size > 0 && nowNanos - events[head] >= windowNanos) {
+            head = (head + 1) % events.length;
+            size--;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package shamboo.shamboq.util;
+
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import shamboo.shamboq.ShamboQ;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Self-profiler measuring how much main thread time ShamboQ spends per subsystem.
+ * Tasks and listeners wrap their work in a probe, when profiling is off a probe costs one volatile read
+ */
+public class TickProfiler {
+    // Seconds kept per probe for the "last minute" view
+    public static final int WINDOW = 60;
+    // Ticks covered by one sample of the 20 tick sampling task
+    private static final int TICKS_PER_SAMPLE = 20;
+
+    private final ShamboQ plugin;
+    private final Map<String, Probe> probes = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    private BukkitTask sampleTask;
+
+    public TickProfiler(ShamboQ plugin) {
+        this.plugin = plugin;
+        plugin.getConfig().addDefault("metrics.profiler.enabled", false);
+        plugin.getConfig().options().copyDefaults(true);
+        plugin.saveConfig();
+    }
+
+    /**
+     * Get or register a probe, subsystems keep the returned handle
+     * @param name Subsystem name
+     */
+    public Probe probe(String name) {
+        Probe probe = probes.get(name);
+        return probe != null ? probe : probes.computeIfAbsent(name, key -> new Probe(this, key));
+    }
+
+    /**
+     * Applies the configured state, called on enable and reload
+     */
+    public void start() {
+        setEnabled(plugin.getConfig().getBoolean("metrics.profiler.enabled"));
+    }
+
+    /**
+     * Switches profiling at runtime
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled == this.enabled) {
+            return;
+        }
+
+        if (enabled) {
+            reset();
+            sampleTask = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    sample();
+                }
+            }.runTaskTimer(plugin, TICKS_PER_SAMPLE, TICKS_PER_SAMPLE);
+        } else if (sampleTask != null) {
+            sampleTask.cancel();
+            sampleTask = null;
+        }
+        this.enabled = enabled;
+        plugin.logMessage("Profiler " + (enabled ? "enabled" : "disabled"), LogLevel.FINE);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void stop() {
+        setEnabled(false);
+    }
+
+    /**
+     * Clears all accumulated timings
+     */
+    public void reset() {
+        probes.values().forEach(Probe::reset);
+    }
+
+    private void sample() {
+        probes.values().forEach(Probe::sample);
+    }
+
+    /**
+     * Probes sorted by main thread time in the last minute, highest first
+     */
+    public List<Probe> getTopProbes() {
+        List<Probe> sorted = new ArrayList<>(probes.values());
+        sorted.sort((a, b) -> Long.compare(b.getLastMinuteNanos(), a.getLastMinuteNanos()));
+        return Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Average milliseconds per tick of all probes over the sampled part of the last minute
+     */
+    public double getTotalMillisPerTick() {
+        double total = 0;
+        for (Probe probe : probes.values()) {
+            total += probe.getMillisPerTick();
+        }
+        return total;
+    }
+
+    /**
+     * Timing probe of one subsystem.
+     * Usage: {@code long start = probe.start(); try { ... } finally { probe.stop(start); }}
+     */
+    public static final class Probe {
+        private final TickProfiler profiler;
+        private final String name;
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder calls = new LongAdder();
+        private final Histogram durations;
+
+        // Main thread time per sample (20 ticks) of the last minute
+        private final long[] ring = new long[WINDOW];
+        private int head;
+        private int samples;
+        private long lastNanos;
+
+        private Probe(TickProfiler profiler, String name) {
+            this.profiler = profiler;
+            this.name = name;
+            this.durations = new Histogram(name + "_us");
+        }
+
+        /**
+         * @return Start time, or 0 if profiling is off
+         */
+        public long start() {
+            return profiler.enabled ? System.nanoTime() : 0L;
+        }
+
+        /**
+         * @param start Value returned by start()
+         */
+        public void stop(long start) {
+            if (start == 0L) {
+                return;
+            }
+            long elapsed = System.nanoTime() - start;
+            nanos.add(elapsed);
+            calls.increment();
+            durations.record(elapsed / 1000);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        /**
+         * Duration of single calls in microseconds
+         */
+        public Histogram getDurations() {
+            return durations;
+        }
+
+        public long getLastMinuteNanos() {
+            long total = 0;
+            for (long value : ring) {
+                total += value;
+            }
+            return total;
+        }
+
+        /**
+         * Average milliseconds per tick over the sampled part of the last minute
+         */
+        public double getMillisPerTick() {
+            int covered = Math.min(samples, WINDOW);
+            return covered == 0 ? 0.0 : getLastMinuteNanos() / 1_000_000.0 / (covered * TICKS_PER_SAMPLE);
+        }
+
+        private void sample() {
+            long total = nanos.sum();
+            ring[head] = total - lastNanos;
+            head = (head + 1) % WINDOW;
+            samples++;
+            lastNanos = total;
+        }
+
+        private void reset() {
+            nanos.reset();
+            calls.reset();
+            durations.reset();
+            Arrays.fill(ring, 0L);
+            head = 0;
+            samples = 0;
+            lastNanos = 0;
+        }
+    }
+}
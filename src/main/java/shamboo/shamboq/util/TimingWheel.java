@@ -0,0 +1,184 @@
+package shamboo.shamboq.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel with tick granularity.
+ * Scheduling and cancelling are O(1), advancing only visits the slot of the current tick.
+ * Not thread-safe - meant to be driven from a single thread
+ */
+public class TimingWheel<T> {
+    private final Entry<T>[] slots;
+    private final int mask;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Create a timing wheel
+     * @param slotCount Number of slots, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int slotCount) {
+        int capacity = Integer.highestOneBit(Math.max(2, slotCount) - 1) << 1;
+        this.slots = (Entry<T>[]) new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Schedule an item to expire at the given tick
+     * @param item Item to schedule
+     * @param deadlineTick Tick at which the item expires (clamped to the next tick if in the past)
+     * @return Handle that can be used to cancel the item
+     */
+    public Entry<T> schedule(T item, long deadlineTick) {
+        Entry<T> entry = new Entry<>(item);
+        insert(entry, Math.max(deadlineTick, currentTick + 1));
+        return entry;
+    }
+
+    /**
+     * Move an already scheduled (or already expired) entry to a new deadline without allocating
+     * @param entry Entry to reschedule
+     * @param deadlineTick New deadline tick
+     */
+    public void reschedule(Entry<T> entry, long deadlineTick) {
+        if (entry.slot >= 0) {
+            unlink(entry);
+        }
+        insert(entry, Math.max(deadlineTick, currentTick + 1));
+    }
+
+    /**
+     * Cancel a scheduled entry
+     * @param entry Entry to cancel
+     * @return Whether the entry was still scheduled
+     */
+    public boolean cancel(Entry<T> entry) {
+        if (entry == null || entry.slot < 0) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    /**
+     * Advance the wheel by one tick and hand every expired item to the consumer.
+     * The consumer may reschedule or cancel entries while the slot is being processed.
+     * @param expired Consumer for expired items
+     * @return Number of expired items
+     */
+    public int advance(Consumer<Entry<T>> expired) {
+        currentTick++;
+        int index = (int) (currentTick & mask);
+        int expiredCount = 0;
+
+        // Detach expired entries first so the consumer can freely modify the wheel
+        Entry<T> fired = null;
+        Entry<T> entry = slots[index];
+        while (entry != null) {
+            Entry<T> next = entry.next;
+            if (entry.deadline <= currentTick) {
+                unlink(entry);
+                entry.nextFired = fired;
+                fired = entry;
+                expiredCount++;
+            }
+            entry = next;
+        }
+
+        while (fired != null) {
+            Entry<T> next = fired.nextFired;
+            fired.nextFired = null;
+            expired.accept(fired);
+            fired = next;
+        }
+
+        return expiredCount;
+    }
+
+    private void insert(Entry<T> entry, long deadlineTick) {
+        int index = (int) (deadlineTick & mask);
+        entry.deadline = deadlineTick;
+        entry.slot = index;
+        entry.prev = null;
+        entry.next = slots[index];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        slots[index] = entry;
+        size++;
+    }
+
+    private void unlink(Entry<T> entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            slots[entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.slot = -1;
+        size--;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Clear all scheduled entries
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length; i++) {
+            Entry<T> entry = slots[i];
+            while (entry != null) {
+                Entry<T> next = entry.next;
+                entry.prev = null;
+                entry.next = null;
+                entry.slot = -1;
+                entry = next;
+            }
+            slots[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Scheduled item handle
+     */
+    public static final class Entry<T> {
+        private final T item;
+        private long deadline;
+        private int slot = -1;
+        private Entry<T> prev;
+        private Entry<T> next;
+        private Entry<T> nextFired;
+
+        private Entry(T item) {
+            this.item = item;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isScheduled() {
+            return slot >= 0;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package shamboo.shamboq.util;
+
+/**
+ * Token bucket rate limiter with burst capacity.
+ * Not thread-safe - meant to be used from a single thread
+ */
+public class TokenBucket {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private double ratePerSecond;
+    private double capacity;
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * Create a token bucket that starts full
+     * @param ratePerSecond Tokens added per second
+     * @param capacity Maximum number of stored tokens (burst size)
+     */
+    public TokenBucket(double ratePerSecond, double capacity) {
+        this.lastRefillNanos = System.nanoTime();
+        configure(ratePerSecond, capacity);
+        this.tokens = this.capacity;
+    }
+
+    /**
+     * Change rate and burst size, keeping the stored tokens within the new capacity
+     */
+    public void configure(double ratePerSecond, double capacity) {
+        refill(System.nanoTime());
+        this.ratePerSecond = Math.max(0.0, ratePerSecond);
+        this.capacity = Math.max(1.0, capacity);
+        this.tokens = Math.min(tokens, this.capacity);
+    }
+
+    /**
+     * Take one token if available
+     * @param nowNanos Current time from System.nanoTime()
+     * @return Whether a token was taken
+     */
+    public boolean tryAcquire(long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            return true;
+        }
+        return false;
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed / NANOS_PER_SECOND * ratePerSecond);
+            lastRefillNanos = nowNanos;
+        }
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public double getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Currently available tokens
+     */
+    public double getAvailableTokens() {
+        refill(System.nanoTime());
+        return tokens;
+    }
+}
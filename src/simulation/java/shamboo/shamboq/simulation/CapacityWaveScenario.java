@@ -0,0 +1,50 @@
+package shamboo.shamboq.simulation;
+
+import shamboo.shamboq.fake.FakeBungee;
+
+import java.util.Map;
+
+/**
+ * Capacity mode: 2000 players join while the backend is nearly full and frees 10 slots per second.
+ * The proxy stand-in answers PlayerCount with the backend count
+ */
+public class CapacityWaveScenario extends Scenario {
+    private static final int PLAYERS = 2000;
+    private static final int JOIN_SECONDS = 10;
+    private static final int BACKEND_SLOTS = 500;
+    private static final int BACKEND_START = 450;
+    private static final int LEAVES_PER_SECOND = 10;
+
+    public CapacityWaveScenario() {
+        super("capacity-wave", PLAYERS + " players join while the backend frees " + LEAVES_PER_SECOND +
+                " slots per second", 90);
+    }
+
+    @Override
+    public Map<String, Object> getConfig() {
+        return Map.of(
+                "queue.mode", "capacity",
+                "queue.capacity.max-players", BACKEND_SLOTS,
+                "queue.capacity.cache-ttl", 1
+        );
+    }
+
+    @Override
+    public void prepare(SimulationContext context) {
+        context.getBungee().setBackendPlayers(BACKEND_START);
+    }
+
+    @Override
+    public void tick(SimulationContext context, int tick) {
+        int joinTicks = JOIN_SECONDS * Simulation.TICKS_PER_SECOND;
+        if (tick <= joinTicks) {
+            context.joinMany(PLAYERS / joinTicks);
+        }
+
+        // Players leaving the backend
+        FakeBungee bungee = context.getBungee();
+        if (tick % (Simulation.TICKS_PER_SECOND / LEAVES_PER_SECOND) == 0 && bungee.getBackendPlayers() > 0) {
+            bungee.setBackendPlayers(bungee.getBackendPlayers() - 1);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package shamboo.shamboq.simulation;
+
+import shamboo.shamboq.fake.FakeBungee;
+
+import java.util.Map;
+
+/**
+ * 500 players join while the proxy answers every Connect with ConnectFailed,
+ * so they go through all retries and back into the queue
+ */
+public class ConnectFailedScenario extends Scenario {
+    private static final int PLAYERS = 500;
+    private static final int JOIN_SECONDS = 5;
+
+    public ConnectFailedScenario() {
+        super("connect-failed", PLAYERS + " players join, the backend answers ConnectFailed", 60);
+    }
+
+    @Override
+    public Map<String, Object> getConfig() {
+        return Map.of(
+                "queue.time", 10,
+                "release.players-per-second", 50.0,
+                "release.burst-size", 50,
+                "connection.max-retries", 3,
+                "connection.retry-delay", 5
+        );
+    }
+
+    @Override
+    public void prepare(SimulationContext context) {
+        context.getBungee().setConnectResult(FakeBungee.ConnectResult.FAIL);
+    }
+
+    @Override
+    public void tick(SimulationContext context, int tick) {
+        int joinTicks = JOIN_SECONDS * Simulation.TICKS_PER_SECOND;
+        if (tick <= joinTicks) {
+            context.joinMany(PLAYERS / joinTicks);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package shamboo.shamboq.simulation;
+
+import shamboo.shamboq.manager.CosmeticGovernor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A healthy server with a trickle of joins - cosmetics must never be stepped down
+ */
+public class HealthyIdleScenario extends Scenario {
+    private static final int JOIN_INTERVAL_TICKS = Simulation.TICKS_PER_SECOND;
+
+    public HealthyIdleScenario() {
+        super("healthy-idle", "one join per second on a healthy server, cosmetics stay on", 60);
+    }
+
+    @Override
+    public Map<String, Object> getConfig() {
+        return Map.of(
+                "queue.time", 10,
+                "optimization.cosmetic-governor", true
+        );
+    }
+
+    @Override
+    public void tick(SimulationContext context, int tick) {
+        if (tick % JOIN_INTERVAL_TICKS == 0) {
+            context.join();
+        }
+    }
+
+    @Override
+    public List<String> verify(SimulationContext context) {
+        List<String> failures = new ArrayList<>();
+        CosmeticGovernor governor = context.getPlugin().getCosmeticGovernor();
+        if (governor.getLevel() != CosmeticGovernor.Level.NORMAL) {
+            failures.add(String.format("cosmetic level is %s at %.1f ms/tick, expected NORMAL",
+                    governor.getLevel(), governor.getMspt()));
+        }
+        long changes = context.getPlugin().getMetricsCollector().getCounter("cosmetic_level_changes");
+        if (changes > 0) {
+            failures.add("cosmetic level changed " + changes + " times");
+        }
+        return failures;
+    }
+}
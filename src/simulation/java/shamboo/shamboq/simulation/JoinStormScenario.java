@@ -0,0 +1,32 @@
+package shamboo.shamboq.simulation;
+
+import java.util.Map;
+
+/**
+ * Restart wave: 5000 players join within 10 seconds and are released at 50 per second
+ */
+public class JoinStormScenario extends Scenario {
+    private static final int PLAYERS = 5000;
+    private static final int JOIN_SECONDS = 10;
+
+    public JoinStormScenario() {
+        super("join-storm", PLAYERS + " players join within " + JOIN_SECONDS + " seconds", 120);
+    }
+
+    @Override
+    public Map<String, Object> getConfig() {
+        return Map.of(
+                "queue.time", 10,
+                "release.players-per-second", 50.0,
+                "release.burst-size", 50
+        );
+    }
+
+    @Override
+    public void tick(SimulationContext context, int tick) {
+        int joinTicks = JOIN_SECONDS * Simulation.TICKS_PER_SECOND;
+        if (tick <= joinTicks) {
+            context.joinMany(PLAYERS / joinTicks);
+        }
+    }
+}
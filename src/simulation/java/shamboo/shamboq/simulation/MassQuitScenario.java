@@ -0,0 +1,49 @@
+package shamboo.shamboq.simulation;
+
+import shamboo.shamboq.fake.FakePlayer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 3000 players join, then 2000 of them quit within one second while their countdown is running
+ */
+public class MassQuitScenario extends Scenario {
+    private static final int PLAYERS = 3000;
+    private static final int QUITS = 2000;
+    private static final int JOIN_SECONDS = 5;
+    private static final int QUIT_SECOND = 8;
+
+    public MassQuitScenario() {
+        super("mass-quit", PLAYERS + " players join, " + QUITS + " quit during the countdown", 40);
+    }
+
+    @Override
+    public Map<String, Object> getConfig() {
+        return Map.of(
+                "queue.time", 15,
+                "release.players-per-second", 100.0,
+                "release.burst-size", 100
+        );
+    }
+
+    @Override
+    public void tick(SimulationContext context, int tick) {
+        int joinTicks = JOIN_SECONDS * Simulation.TICKS_PER_SECOND;
+        if (tick <= joinTicks) {
+            context.joinMany(PLAYERS / joinTicks);
+        }
+
+        // Spread the quits over one second, random players still in queue
+        int quitStart = QUIT_SECOND * Simulation.TICKS_PER_SECOND;
+        if (tick > quitStart && tick <= quitStart + Simulation.TICKS_PER_SECOND) {
+            List<FakePlayer> queued = context.getQueuedPlayers();
+            Collections.shuffle(queued, context.getRandom());
+            int quits = Math.min(QUITS / Simulation.TICKS_PER_SECOND, queued.size());
+            for (int i = 0; i < quits; i++) {
+                context.quit(queued.get(i));
+            }
+        }
+    }
+}
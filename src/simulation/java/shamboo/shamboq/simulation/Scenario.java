@@ -0,0 +1,63 @@
+package shamboo.shamboq.simulation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scripted load scenario run against the fake server
+ */
+public abstract class Scenario {
+    private final String name;
+    private final String description;
+    private final int durationTicks;
+
+    /**
+     * @param name Name used on the command line
+     * @param description One line shown in the report
+     * @param durationSeconds Simulated time, in seconds
+     */
+    protected Scenario(String name, String description, int durationSeconds) {
+        this.name = name;
+        this.description = description;
+        this.durationTicks = durationSeconds * Simulation.TICKS_PER_SECOND;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getDurationTicks() {
+        return durationTicks;
+    }
+
+    /**
+     * Config values on top of the bundled config.yml, by path
+     */
+    public Map<String, Object> getConfig() {
+        return Map.of();
+    }
+
+    /**
+     * Sets up the proxy stand-in before the first tick
+     */
+    public void prepare(SimulationContext context) {
+    }
+
+    /**
+     * Runs the scripted actions of one tick, before the server tick
+     * @param tick Tick number, starting at 1
+     */
+    public abstract void tick(SimulationContext context, int tick);
+
+    /**
+     * Checks the outcome after the last tick, a failed check makes the simulation exit with status 1
+     * @return Descriptions of the failed checks
+     */
+    public List<String> verify(SimulationContext context) {
+        return List.of();
+    }
+}
@@ -0,0 +1,191 @@
+package shamboo.shamboq.simulation;
+
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.fake.FakeServer;
+import shamboo.shamboq.util.Histogram;
+import shamboo.shamboq.util.MetricsCollector;
+import shamboo.shamboq.util.TickProfiler;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless load simulation - boots ShamboQ on the fake server and runs scripted scenarios.
+ * Reports main-thread time and allocations per simulated tick and the queue wait of every player.
+ * Ticks are paced to 50ms by default, so the plugin's wall-clock parts (release rate, connection
+ * timeouts, countdown threads) behave as on a real server; --fast runs ticks back to back
+ */
+public final class Simulation {
+    public static final int TICKS_PER_SECOND = 20;
+    private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1) / TICKS_PER_SECOND;
+
+    // Plugin counters shown in the report
+    private static final String[] REPORTED_COUNTERS = {
+            "player_joins", "player_quits", "players_queued", "connection_attempts", "connection_retries",
+            "connection_failed", "connection_timeout", "max_retries_reached", "release_gate_released",
+            "capacity_polls", "capacity_released", "visibility_ops", "visibility_skipped",
+            "cosmetic_level_changes"
+    };
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final boolean fast;
+
+    private Simulation(boolean fast) {
+        this.fast = fast;
+    }
+
+    private static Map<String, Scenario> scenarios() {
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        for (Scenario scenario : List.of(new JoinStormScenario(), new MassQuitScenario(),
+                new ConnectFailedScenario(), new CapacityWaveScenario(), new HealthyIdleScenario())) {
+            scenarios.put(scenario.getName(), scenario);
+        }
+        return scenarios;
+    }
+
+    /**
+     * Usage: Simulation [--fast] [--list] [scenario...], no scenario runs all of them
+     */
+    public static void main(String[] args) {
+        Map<String, Scenario> available = scenarios();
+        boolean fast = false;
+        List<Scenario> selected = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--fast")) {
+                fast = true;
+            } else if (arg.equals("--list")) {
+                available.values().forEach(s -> System.out.println(s.getName() + " - " + s.getDescription()));
+                return;
+            } else if (available.containsKey(arg)) {
+                selected.add(available.get(arg));
+            } else {
+                System.err.println("Unknown scenario: " + arg + ", available: " + available.keySet());
+                System.exit(1);
+            }
+        }
+        if (selected.isEmpty()) {
+            selected.addAll(available.values());
+        }
+
+        Simulation simulation = new Simulation(fast);
+        int failed = 0;
+        for (Scenario scenario : selected) {
+            if (!simulation.run(scenario)) {
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            System.err.println(failed + " scenario(s) failed their checks");
+        }
+        System.exit(failed > 0 ? 1 : 0);
+    }
+
+    /**
+     * @return Whether the scenario passed its checks
+     */
+    private boolean run(Scenario scenario) {
+        Map<String, Object> config = new HashMap<>();
+        config.put("optimization.cache-capabilities", false);
+        config.put("metrics.profiler.enabled", true);
+        if (fast) {
+            // Countdown threads follow the wall clock, the main-thread scheduler follows simulated ticks
+            config.put("optimization.dedicated-thread-pool", false);
+        }
+        config.putAll(scenario.getConfig());
+
+        FakeServer server = FakeServer.get();
+        ShamboQ plugin = server.enablePlugin(config);
+
+        MetricsCollector results = new MetricsCollector();
+        Histogram tickTime = results.histogram("tick_us");
+        Histogram tickAllocation = results.histogram("tick_allocated_bytes");
+        Histogram queueWait = results.histogram("queue_wait_ms");
+        SimulationContext context = new SimulationContext(server, plugin, queueWait);
+        scenario.prepare(context);
+
+        long threadId = Thread.currentThread().getId();
+        long overBudget = 0;
+        long allocated = 0;
+        long runStart = System.nanoTime();
+        try {
+            for (int tick = 1; tick <= scenario.getDurationTicks(); tick++) {
+                context.setTick(tick);
+
+                long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+                long start = System.nanoTime();
+                scenario.tick(context, tick);
+                server.tick();
+                long elapsed = System.nanoTime() - start;
+                long tickAllocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+                tickTime.record(elapsed / 1000);
+                tickAllocation.record(tickAllocated);
+                allocated += tickAllocated;
+                if (elapsed > TICK_NANOS) {
+                    overBudget++;
+                }
+
+                if (!fast) {
+                    long wait = runStart + tick * TICK_NANOS - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+            }
+
+            report(scenario, context, plugin, tickTime, tickAllocation, queueWait, overBudget, allocated,
+                    System.nanoTime() - runStart);
+
+            List<String> failures = scenario.verify(context);
+            for (String failure : failures) {
+                System.out.println("FAILED: " + failure);
+            }
+            return failures.isEmpty();
+        } finally {
+            server.disablePlugin();
+        }
+    }
+
+    private void report(Scenario scenario, SimulationContext context, ShamboQ plugin, Histogram tickTime,
+                        Histogram tickAllocation, Histogram queueWait, long overBudget, long allocated, long runNanos) {
+        int ticks = scenario.getDurationTicks();
+        System.out.println();
+        System.out.println("== " + scenario.getName() + ": " + scenario.getDescription() + " ==");
+        System.out.printf("Simulated %ds (%d ticks) in %.1fs%s%n", ticks / TICKS_PER_SECOND, ticks,
+                runNanos / 1e9, fast ? " (fast)" : "");
+        System.out.println("Main thread per tick: " + tickTime.summary("us"));
+        System.out.println("Ticks over 50ms: " + overBudget);
+        System.out.printf("Allocated on main thread: %.1f MB total, %s per tick%n",
+                allocated / (1024.0 * 1024.0), tickAllocation.summary("B"));
+        System.out.println("Queue wait (simulated): " + queueWait.summary("ms"));
+
+        int inQueue = plugin.getQueueManager().getSessions().size();
+        System.out.println("Players: " + context.getJoined() + " joined, " + context.getQuit() + " quit, " +
+                context.getBungee().getConnectRequests() + " connect requests, " +
+                context.getBungee().getPlayerCountRequests() + " player count requests, " + inQueue +
+                " sessions open, " + context.getServer().getFakePlayers().size() + " online");
+
+        StringBuilder counters = new StringBuilder("Plugin counters:");
+        for (String name : REPORTED_COUNTERS) {
+            counters.append(' ').append(name).append('=').append(plugin.getMetricsCollector().getCounter(name));
+        }
+        System.out.println(counters);
+
+        System.out.println("Main thread by subsystem:");
+        for (TickProfiler.Probe probe : plugin.getTickProfiler().getTopProbes()) {
+            if (probe.getCalls() == 0) {
+                continue;
+            }
+            System.out.printf("  %-16s %8.1f ms total  %s%n", probe.getName(),
+                    probe.getDurations().getSum() / 1000.0, probe.getDurations().summary("us"));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package shamboo.shamboq.simulation;
+
+import shamboo.shamboq.ShamboQ;
+import shamboo.shamboq.fake.FakeBungee;
+import shamboo.shamboq.fake.FakePlayer;
+import shamboo.shamboq.fake.FakeServer;
+import shamboo.shamboq.queue.QueueSession;
+import shamboo.shamboq.util.Histogram;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * State of a running scenario: the fake server, the plugin and the join time of every player.
+ * Queue wait is measured in simulated time, from the join to the first Connect message of a player
+ */
+public final class SimulationContext {
+    private final FakeServer server;
+    private final ShamboQ plugin;
+    private final Histogram queueWait;
+    private final Map<UUID, Integer> joinTicks = new HashMap<>();
+    // Fixed seed, so runs of the same scenario are comparable
+    private final Random random = new Random(42);
+    private int tick;
+    private int joined;
+    private int quit;
+
+    SimulationContext(FakeServer server, ShamboQ plugin, Histogram queueWait) {
+        this.server = server;
+        this.plugin = plugin;
+        this.queueWait = queueWait;
+        server.getBungee().setConnectListener(this::onConnect);
+    }
+
+    /**
+     * Creates a player and joins them
+     * @param permissions Permissions of the player, e.g. shamboq.priority.1
+     */
+    public FakePlayer join(String... permissions) {
+        FakePlayer player = server.createPlayer("Player" + (joined + 1));
+        for (String permission : permissions) {
+            player.addPermission(permission);
+        }
+        joinTicks.put(player.getUniqueId(), tick);
+        joined++;
+        server.join(player);
+        return player;
+    }
+
+    /**
+     * Joins several players in this tick
+     */
+    public void joinMany(int count) {
+        for (int i = 0; i < count; i++) {
+            join();
+        }
+    }
+
+    public void quit(FakePlayer player) {
+        if (!player.isOnline()) {
+            return;
+        }
+        joinTicks.remove(player.getUniqueId());
+        quit++;
+        server.quit(player);
+    }
+
+    /**
+     * Online players with a queue session that is still waiting or counting down
+     */
+    public List<FakePlayer> getQueuedPlayers() {
+        List<FakePlayer> queued = new ArrayList<>();
+        for (FakePlayer player : server.getFakePlayers()) {
+            QueueSession session = plugin.getQueueManager().getSession(player.getUniqueId());
+            if (session != null && session.isQueued() && !session.isConnecting()) {
+                queued.add(player);
+            }
+        }
+        return queued;
+    }
+
+    private void onConnect(FakePlayer player) {
+        // Only the first Connect counts, retries and players put back in queue are not a new wait
+        Integer joinTick = joinTicks.remove(player.getUniqueId());
+        if (joinTick != null) {
+            queueWait.record((long) (tick - joinTick) * 1000 / Simulation.TICKS_PER_SECOND);
+        }
+    }
+
+    void setTick(int tick) {
+        this.tick = tick;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public FakeServer getServer() {
+        return server;
+    }
+
+    public FakeBungee getBungee() {
+        return server.getBungee();
+    }
+
+    public ShamboQ getPlugin() {
+        return plugin;
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Number of players joined by the scenario
+     */
+    public int getJoined() {
+        return joined;
+    }
+
+    /**
+     * Number of players who quit on their own, transfers to the backend are not counted
+     */
+    public int getQuit() {
+        return quit;
+    }
+}